@@ -0,0 +1,62 @@
+/**
+ * DotBench
+ * Author: agent
+ * Created on: 18/10/2026
+ * JMH benchmark of moving a single Dot
+ */
+
+package main;
+
+import java.awt.Color;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DotBench {
+	//Constants
+	static final long SEED = 1;		//Seed the directions are drawn from
+	
+	//Attributes
+	@Param({"200", "400"})
+	private int steps;		//Steps the Dot can take
+	private Dot dot;		//Dot to move
+	
+	/**
+	 * Create the Dot
+	 */
+	@Setup
+	public void setup() {
+		dot = new Dot(480, 100, Color.WHITE, steps, new Rng(SEED));
+	}
+	
+	/**
+	 * Take one step, starting the Dot over when it runs out
+	 * @return Dot that was moved
+	 */
+	@Benchmark
+	public Dot move() {
+		if (dot.stepsTaken() >= steps) {
+			dot.setStepsTaken(0);
+			dot.setDead(false);
+			dot.setXY(480, 100);
+		}
+		dot.move();
+		return dot;
+	}
+}
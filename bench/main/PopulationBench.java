@@ -0,0 +1,138 @@
+/**
+ * PopulationBench
+ * Author: agent
+ * Created on: 18/10/2026
+ * JMH benchmarks of stepping and evolving a Population
+ */
+
+package main;
+
+import java.awt.Color;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PopulationBench {
+	//Constants
+	static final int SIDE = 960;			//Side length of the space
+	static final int OBSTACLE_RAD = 30;		//Radius of the obstacles
+	
+	//Attributes
+	@Param({"1000", "10000"})
+	private int populationSize;				//Number of Dots
+	@Param({"200", "400"})
+	private int steps;						//Steps each Dot can take
+	@Param({"0", "15", "1000"})
+	private int obstacles;					//Number of obstacles
+	private Population pop;					//Population to evolve
+	
+	/**
+	 * Create the Population and scatter obstacles between the start and the goal
+	 */
+	@Setup
+	public void setup() {
+		pop = createPopulation(populationSize, steps, obstacles);
+	}
+	
+	/**
+	 * Create a Population like the one in GADots with obstacles between the start and the goal
+	 * @param size Number of Dots
+	 * @param steps Steps each Dot can take
+	 * @param numObstacles Number of obstacles
+	 * @return New Population
+	 */
+	static Population createPopulation(int size, int steps, int numObstacles) {
+		Dot goal = new Dot(SIDE / 2, (int) (SIDE * 0.8), Color.BLUE);
+		goal.setRad(10);
+		Population p = new Population(size, new Vec(SIDE / 2, 100), steps, SIDE, SIDE, goal);
+		
+		//same obstacles every run
+		Random rand = new Random(42);
+		for (int i = 0; i < numObstacles; i++) {
+			Dot obst = new Dot(rand.nextInt(SIDE), 200 + rand.nextInt((int) goal.y() - 250), Color.GRAY);
+			obst.setRad(OBSTACLE_RAD);
+			p.addObstacle(obst);
+		}
+		return p;
+	}
+	
+	/**
+	 * Stop the Population's threads
+	 */
+	@TearDown
+	public void tearDown() {
+		pop.shutdown();
+	}
+	
+	/**
+	 * One lockstep frame of every Dot, starting a new generation when the last one finishes
+	 * @return Population that was stepped
+	 */
+	@Benchmark
+	public Population step() {
+		if (pop.isGenFinished())
+			pop.nextGeneration();
+		pop.step();
+		return pop;
+	}
+	
+	/**
+	 * A whole generation stepped frame by frame, the way the viewer runs it
+	 * @return Population that was evolved
+	 */
+	@Benchmark
+	public Population lockstepGeneration() {
+		while (!pop.isGenFinished())
+			pop.step();
+		pop.nextGeneration();
+		return pop;
+	}
+	
+	/**
+	 * A whole generation rolled out Dot by Dot
+	 * @return Population that was evolved
+	 */
+	@Benchmark
+	public Population runGeneration() {
+		pop.runGeneration();
+		return pop;
+	}
+	
+	/**
+	 * Fitness, champion, selection and mutation without stepping
+	 * @return Population that was evolved
+	 */
+	@Benchmark
+	public Population nextGeneration() {
+		pop.nextGeneration();
+		return pop;
+	}
+	
+	/**
+	 * Mutating every Dot but the champion
+	 * @return Population that was mutated
+	 */
+	@Benchmark
+	public Population mutate() {
+		pop.mutate();
+		return pop;
+	}
+}
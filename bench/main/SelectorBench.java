@@ -0,0 +1,119 @@
+/**
+ * SelectorBench
+ * Author: agent
+ * Created on: 18/10/2026
+ * JMH benchmarks of preparing and selecting parents with each Selector, against the original O(n) scan
+ */
+
+package main;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectorBench {
+	//Attributes
+	@Param({"1000", "100000"})
+	private int populationSize;		//Number of Dots
+	@Param({"scan", "roulette", "alias", "tournament"})
+	private String selectorName;	//Selector to benchmark
+	private Selector selector;		//Selector to benchmark
+	private double[] fitnesses;		//Fitnesses to select from
+	private double fitnessSum;		//Sum of the fitnesses
+	private Rng rand;				//Random number generator to select with
+	
+	/**
+	 * Create fitnesses shaped like a real generation, a few much fitter Dots
+	 */
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		fitnesses = new double[populationSize];
+		fitnessSum = 0;
+		for (int i = 0; i < populationSize; i++) {
+			double dist = 10 + random.nextDouble() * 700;
+			fitnesses[i] = random.nextDouble() < 0.01 ? 1.0/16.0 + 10000.0/(60 * 60) : 1.0 / (dist * dist);
+			fitnessSum += fitnesses[i];
+		}
+		
+		switch (selectorName) {
+			case "scan": selector = new LinearScanSelector(); break;
+			case "alias": selector = new AliasSelector(); break;
+			case "tournament": selector = new TournamentSelector(); break;
+			default: selector = new RouletteSelector();
+		}
+		selector.prepare(fitnesses, fitnessSum);
+		rand = new Rng(42);
+	}
+	
+	/**
+	 * Build the Selector's tables for a generation
+	 * @return Selector that was prepared
+	 */
+	@Benchmark
+	public Selector prepare() {
+		selector.prepare(fitnesses, fitnessSum);
+		return selector;
+	}
+	
+	/**
+	 * Select one parent
+	 * @return Index of the parent
+	 */
+	@Benchmark
+	public int select() {
+		return selector.select(rand);
+	}
+	
+	/**
+	 * The original running sum scan, O(n) per parent, for comparison
+	 */
+	private static class LinearScanSelector implements Selector {
+		//Attributes
+		private double[] fitnesses;		//Fitnesses of each Dot
+		private double fitnessSum;		//Sum of the fitnesses
+		
+		/**
+		 * Keep the fitnesses to scan
+		 * @param fitnesses Fitnesses of each Dot
+		 * @param fitnessSum Sum of the fitnesses
+		 */
+		public void prepare(double[] fitnesses, double fitnessSum) {
+			this.fitnesses = fitnesses;
+			this.fitnessSum = fitnessSum;
+		}
+		
+		/**
+		 * Scan the running sum for a random fitness
+		 * @param rand Random number generator of the calling chunk
+		 * @return Index of the parent
+		 */
+		public int select(Rng rand) {
+			double randFitness = rand.nextDouble() * fitnessSum;
+			double runningSum = 0;
+			for (int i = 0; i < fitnesses.length; i++) {
+				runningSum += fitnesses[i];
+				if (runningSum > randFitness)
+					return i;
+			}
+			return fitnesses.length - 1;
+		}
+	}
+}
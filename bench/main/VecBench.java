@@ -0,0 +1,99 @@
+/**
+ * VecBench
+ * Author: agent
+ * Created on: 18/10/2026
+ * JMH benchmarks of the Vec operations used on the hot path
+ */
+
+package main;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VecBench {
+	//Attributes
+	private Vec a;			//First vector
+	private Vec b;			//Second vector
+	private double r;		//Distance to compare against
+	
+	/**
+	 * Create the vectors
+	 */
+	@Setup
+	public void setup() {
+		a = new Vec(120.5, 310.25);
+		b = new Vec(480, 768);
+		r = 10;
+	}
+	
+	/**
+	 * Distance through a new difference vector
+	 * @return Distance between a and b
+	 */
+	@Benchmark
+	public double diffMag() {
+		return Vec.diff(a, b).mag();
+	}
+	
+	/**
+	 * Distance without creating a vector
+	 * @return Distance between a and b
+	 */
+	@Benchmark
+	public double dist() {
+		return Vec.dist(a, b);
+	}
+	
+	/**
+	 * Squared distance without creating a vector
+	 * @return Squared distance between a and b
+	 */
+	@Benchmark
+	public double distSq() {
+		return Vec.distSq(a.x(), a.y(), b.x(), b.y());
+	}
+	
+	/**
+	 * Distance comparison without a square root
+	 * @return Whether a and b are within r
+	 */
+	@Benchmark
+	public boolean within() {
+		return Vec.within(a.x(), a.y(), b.x(), b.y(), r);
+	}
+	
+	/**
+	 * Moving a vector and reading its magnitude, which is recalculated lazily
+	 * @return Magnitude of a after moving it
+	 */
+	@Benchmark
+	public double addMag() {
+		a.addX(1e-9);
+		return a.mag();
+	}
+	
+	/**
+	 * Creating a vector from an angle
+	 * @return New vector
+	 */
+	@Benchmark
+	public Vec fromAngle() {
+		return Vec.fromAngle(r, Dot.STEP_SIZE);
+	}
+}
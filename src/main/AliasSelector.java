@@ -0,0 +1,72 @@
+/**
+ * AliasSelector
+ * Author: agent
+ * Created on: 18/10/2026
+ * Fitness proportionate selection in constant time with Walker's alias method
+ */
+
+package main;
+
+public class AliasSelector implements Selector {
+	//Attributes
+	private double[] probs;			//Chance of keeping each slot instead of taking its alias
+	private int[] aliases;			//Dot chosen when a slot is not kept
+	private int[] small;			//Work list of slots below the average weight
+	private int[] large;			//Work list of slots at or above the average weight
+	
+	/**
+	 * Build the alias table in O(n) using Vose's method
+	 * @param fitnesses Fitnesses of each Dot
+	 * @param fitnessSum Sum of the fitnesses
+	 */
+	public void prepare(double[] fitnesses, double fitnessSum) {
+		int n = fitnesses.length;
+		if (probs == null || probs.length != n) {
+			probs = new double[n];
+			aliases = new int[n];
+			small = new int[n];
+			large = new int[n];
+		}
+		
+		//Scale the fitnesses so the average is 1, treat every Dot the same if there is no fitness
+		double scale = fitnessSum > 0 ? n / fitnessSum : 0;
+		int numSmall = 0;
+		int numLarge = 0;
+		for (int i = 0; i < n; i++) {
+			probs[i] = fitnessSum > 0 ? fitnesses[i] * scale : 1;
+			aliases[i] = i;
+			if (probs[i] < 1)
+				small[numSmall++] = i;
+			else
+				large[numLarge++] = i;
+		}
+		
+		//Fill each small slot up to 1 with part of a large one
+		while (numSmall > 0 && numLarge > 0) {
+			int s = small[--numSmall];
+			int l = large[--numLarge];
+			aliases[s] = l;
+			probs[l] -= 1 - probs[s];
+			if (probs[l] < 1)
+				small[numSmall++] = l;
+			else
+				large[numLarge++] = l;
+		}
+		
+		//Anything left over is only off from 1 by rounding
+		while (numLarge > 0)
+			probs[large[--numLarge]] = 1;
+		while (numSmall > 0)
+			probs[small[--numSmall]] = 1;
+	}
+	
+	/**
+	 * Select a parent in O(1), Dots with higher fitnesses are more likely to be chosen
+	 * @param rand Random number generator of the calling chunk
+	 * @return Index of the parent
+	 */
+	public int select(Rng rand) {
+		int i = rand.nextInt(probs.length);
+		return rand.nextDouble() < probs[i] ? i : aliases[i];
+	}
+}
@@ -0,0 +1,218 @@
+/**
+ * AngleGenomes
+ * Author: agent
+ * Created on: 18/10/2026
+ * Genomes storing each step as one of LEVELS evenly spaced angles in a short, 2 bytes a step instead of 16
+ * Every step is STEP_SIZE long, so the angle is all there is to store; it is turned back into (dx,dy)
+ * through tables built once, so stepping, creating and mutating the Dots never call cos, sin or atan2
+ */
+
+package main;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+public class AngleGenomes extends Genomes {
+	//Constants
+	public static final int LEVELS = 4096;						//Number of angles a step can point in
+	private static final double RAD_PER_LEVEL = 2 * Math.PI / LEVELS;	//Angle between neighbouring levels
+	private static final double[] STEP_TABLE = stepTable();		//(dx,dy) of a step at each level
+	
+	//Attributes
+	private short[] angles;			//Level of each step of each Dot, Dot-major
+	
+	/**
+	 * Create a set of Genomes with every step at angle 0
+	 * @param size Number of Dots
+	 * @param steps Number of steps each Dot can take
+	 */
+	public AngleGenomes(int size, int steps) {
+		super(size, steps);
+		this.angles = new short[size * steps];
+	}
+	
+	/**
+	 * Build the (dx,dy) of a step at every level, side by side so one lookup touches one cache line
+	 * @return dx of level k at 2k and dy at 2k + 1
+	 */
+	private static double[] stepTable() {
+		double[] table = new double[LEVELS * 2];
+		for (int k = 0; k < LEVELS; k++) {
+			table[2 * k] = Math.cos(k * RAD_PER_LEVEL) * Dot.STEP_SIZE;
+			table[2 * k + 1] = Math.sin(k * RAD_PER_LEVEL) * Dot.STEP_SIZE;
+		}
+		return table;
+	}
+	
+	/**
+	 * Get the level closest to an angle
+	 * @param angRad Angle in radians, any size
+	 * @return Level in [0, LEVELS)
+	 */
+	public static int level(double angRad) {
+		return (int) Math.floorMod(Math.round(angRad / RAD_PER_LEVEL), (long) LEVELS);
+	}
+	
+	/**
+	 * Get how the steps are stored
+	 * @return ANGLES
+	 */
+	public Layout layout() {
+		return Layout.ANGLES;
+	}
+	
+	/**
+	 * Get the level of a step
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @return Level in [0, LEVELS)
+	 */
+	private int levelAt(int dot, int step) {
+		return angles[dot * steps + step] & 0xFFFF;
+	}
+	
+	/**
+	 * Get the x component of a step
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @return X component of the step
+	 */
+	public double dx(int dot, int step) {
+		return STEP_TABLE[2 * levelAt(dot, step)];
+	}
+	
+	/**
+	 * Get the y component of a step
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @return Y component of the step
+	 */
+	public double dy(int dot, int step) {
+		return STEP_TABLE[2 * levelAt(dot, step) + 1];
+	}
+	
+	/**
+	 * Set a step to the level closest to its direction, dropping its length
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @param dx X component of the step
+	 * @param dy Y component of the step
+	 */
+	public void set(int dot, int step, double dx, double dy) {
+		setLevel(dot, step, level(Math.atan2(dy, dx)));
+	}
+	
+	/**
+	 * Set a step to a level
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @param level Level in [0, LEVELS)
+	 */
+	public void setLevel(int dot, int step, int level) {
+		if (hashes != null)
+			hashes[dot] ^= stepHash(dot, step) ^ mix(step, level, 0);
+		angles[dot * steps + step] = (short) level;
+	}
+	
+	/**
+	 * Get the angle of a step
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @return Angle of the step in radians, in [-PI, PI)
+	 */
+	public double angle(int dot, int step) {
+		int level = levelAt(dot, step);
+		return (level < LEVELS / 2 ? level : level - LEVELS) * RAD_PER_LEVEL;
+	}
+	
+	/**
+	 * Set a step to the level closest to an angle
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @param angRad Angle of the step in radians
+	 */
+	public void setAngle(int dot, int step, double angRad) {
+		setLevel(dot, step, level(angRad));
+	}
+	
+	/**
+	 * Fill a Dot's steps with random levels
+	 * @param dot Index of the Dot
+	 * @param rand Random number generator to draw the directions from
+	 */
+	public void randomize(int dot, Rng rand) {
+		for (int j = 0; j < steps; j++)
+			setLevel(dot, j, rand.nextInt(LEVELS));
+	}
+	
+	/**
+	 * Copy a Dot's steps into another set of Genomes
+	 * @param from Index of the Dot to copy
+	 * @param dst Genomes to copy into
+	 * @param to Index of the Dot to copy into
+	 */
+	public void copy(int from, Genomes dst, int to) {
+		if (!(dst instanceof AngleGenomes)) {
+			copySteps(from, dst, to);
+			return;
+		}
+		System.arraycopy(angles, from * steps, ((AngleGenomes) dst).angles, to * steps, steps);
+		copyHash(from, dst, to);
+	}
+	
+	/**
+	 * Hash a step as it is stored
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @return Hash of the step's level
+	 */
+	protected long stepHash(int dot, int step) {
+		return mix(step, levelAt(dot, step), 0);
+	}
+	
+	/**
+	 * Copy every Dot's steps into a file through memory-mapped regions, as little-endian shorts, and write
+	 * them out to the disk
+	 * @param ch File to write to, grown if needed
+	 * @param pos Position in the file to start at
+	 * @throws IOException If the file cannot be mapped
+	 */
+	public void save(FileChannel ch, long pos) throws IOException {
+		long bytes = (long) angles.length * Short.BYTES;
+		for (long done = 0; done < bytes; done += MAP_REGION) {
+			long len = Math.min(MAP_REGION, bytes - done);
+			MappedByteBuffer region = ch.map(MapMode.READ_WRITE, pos + done, len);
+			region.order(ByteOrder.LITTLE_ENDIAN).asShortBuffer()
+				.put(angles, (int) (done / Short.BYTES), (int) (len / Short.BYTES));
+			region.force();
+		}
+	}
+	
+	/**
+	 * Copy every Dot's steps from a file written by save() on AngleGenomes
+	 * @param ch File to read from
+	 * @param pos Position in the file to start at
+	 * @throws IOException If the file cannot be mapped or is too short
+	 */
+	public void load(FileChannel ch, long pos) throws IOException {
+		long bytes = (long) angles.length * Short.BYTES;
+		if (ch.size() < pos + bytes)
+			throw new IOException("File holds " + (ch.size() - pos) + " bytes of steps, expected " + bytes);
+		for (long done = 0; done < bytes; done += MAP_REGION) {
+			long len = Math.min(MAP_REGION, bytes - done);
+			ch.map(MapMode.READ_ONLY, pos + done, len).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer()
+				.get(angles, (int) (done / Short.BYTES), (int) (len / Short.BYTES));
+		}
+		for (int dot = 0; dot < size; dot++) {
+			for (int j = 0; j < steps; j++) {
+				if ((angles[dot * steps + j] & 0xFFFF) >= LEVELS)
+					throw new IOException("Step " + j + " of Dot " + dot + " is not an angle level");
+			}
+			if (hashes != null)
+				rehash(dot);
+		}
+	}
+}
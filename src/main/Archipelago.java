@@ -0,0 +1,221 @@
+/**
+ * Archipelago
+ * Author: agent
+ * Created on: 18/10/2026
+ * Islands of Populations evolving on their own threads and swapping their best Dots every few generations
+ */
+
+package main;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class Archipelago {
+	//Attributes
+	private Population[] islands;			//Populations evolving independently
+	private Genomes[] emigrants;			//Best Dots each island sends out
+	private int[] numEmigrants;				//Number of Dots each island is sending out
+	private Topology topology;				//Which islands send their best Dots to which
+	private int migrationInterval;			//Generations run between migrations
+	private int migrants;					//Number of Dots each island sends out
+	private int gen;						//Generations run on every island so far, across calls to run
+	private ExecutorService pool;			//One thread per island
+	
+	/**
+	 * Which islands send their best Dots to which
+	 */
+	public enum Topology {
+		RING,		//Each island sends to the next one
+		FULL		//Each island sends to every other one
+	}
+	
+	/**
+	 * Create an Archipelago, each island should have its own seed and can have its own parameters
+	 * @param islands Populations to evolve, all with the same number of steps per Dot
+	 */
+	public Archipelago(Population... islands) {
+		this.islands = islands.clone();
+		this.topology = Topology.RING;
+		this.migrationInterval = 10;
+		this.migrants = 2;
+		this.pool = Executors.newFixedThreadPool(islands.length);
+		allocateEmigrants();
+	}
+	
+	/**
+	 * Make room for each island's emigrants
+	 */
+	private void allocateEmigrants() {
+		emigrants = new Genomes[islands.length];
+		numEmigrants = new int[islands.length];
+		for (int i = 0; i < islands.length; i++)
+			emigrants[i] = islands[i].createGenomes(migrants);
+	}
+	
+	/**
+	 * Set which islands send their best Dots to which
+	 * @param topology Migration topology
+	 */
+	public void setTopology(Topology topology) {
+		this.topology = topology;
+	}
+	
+	/**
+	 * Set how many generations run between migrations
+	 * @param migrationInterval Generations between migrations
+	 */
+	public void setMigrationInterval(int migrationInterval) {
+		this.migrationInterval = Math.max(1, migrationInterval);
+	}
+	
+	/**
+	 * Set how many of its best Dots each island sends out at a migration
+	 * @param migrants Number of Dots sent out per island
+	 */
+	public void setMigrants(int migrants) {
+		this.migrants = Math.max(0, migrants);
+		allocateEmigrants();
+	}
+	
+	/**
+	 * Get the islands
+	 * @return Populations being evolved
+	 */
+	public Population[] islands() {
+		return islands;
+	}
+	
+	/**
+	 * Get the island with the best solution so far
+	 * @return Island with the fewest steps to the goal, or the highest fitness if none have reached it
+	 */
+	public Population best() {
+		Population best = islands[0];
+		for (Population p : islands) {
+			if (p.minSteps() < best.minSteps() ||
+				(p.minSteps() == best.minSteps() && p.maxFitness() > best.maxFitness()))
+				best = p;
+		}
+		return best;
+	}
+	
+	/**
+	 * Get the number of generations every island has run
+	 * @return Generations run so far
+	 */
+	public int gen() {
+		return gen;
+	}
+	
+	/**
+	 * Run a number of generations on every island, migrating each time the generations run so far reach a
+	 * multiple of migrationInterval, so running in shorter stretches migrates just as often
+	 * @param numGens Number of generations to run each island for
+	 */
+	public void run(int numGens) {
+		int end = gen + numGens;
+		while (gen < end)
+			runToward(end);
+	}
+	
+	/**
+	 * Run until any island reaches an accuracy
+	 * @param acc Accuracy to reach (0-1)
+	 * @param minPossibleSteps Minimum possible number of steps to reach the goal
+	 * @param maxGens Most generations to run each island for
+	 * @return Number of generations run on each island
+	 */
+	public int runUntilAccuracy(double acc, int minPossibleSteps, int maxGens) {
+		int first = gen;
+		while (gen < first + maxGens && best().accuracy(minPossibleSteps) < acc)
+			runToward(first + maxGens);
+		return gen - first;
+	}
+	
+	/**
+	 * Run every island up to the next migration or a generation, whichever comes first, and migrate if
+	 * it was the migration
+	 * @param end Generation to stop at
+	 */
+	private void runToward(int end) {
+		int epoch = Math.min(migrationInterval - gen % migrationInterval, end - gen);
+		runEpoch(epoch);
+		gen += epoch;
+		if (gen % migrationInterval == 0)
+			migrate();
+	}
+	
+	/**
+	 * Run every island for some generations on its own thread and wait for all of them
+	 * @param numGens Number of generations to run
+	 */
+	private void runEpoch(int numGens) {
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+		for (Population p : islands) {
+			tasks.add(() -> {
+				p.run(numGens);
+				return null;
+			});
+		}
+		
+		try {
+			for (Future<Void> f : pool.invokeAll(tasks))
+				f.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		}
+	}
+	
+	/**
+	 * Send each island's best Dots to its neighbours
+	 * Everything is collected before anything is replaced so the order of the islands does not matter
+	 */
+	private void migrate() {
+		if (migrants == 0 || islands.length < 2)
+			return;
+		
+		for (int i = 0; i < islands.length; i++)
+			numEmigrants[i] = islands[i].exportElite(migrants, emigrants[i]);
+		
+		for (int i = 0; i < islands.length; i++) {
+			if (topology == Topology.RING) {
+				int from = (i + islands.length - 1) % islands.length;
+				islands[i].importMigrants(emigrants[from], numEmigrants[from]);
+			} else {
+				importFromAll(i);
+			}
+		}
+	}
+	
+	/**
+	 * Give an island the best Dots of every other island
+	 * @param i Index of the island
+	 */
+	private void importFromAll(int i) {
+		Genomes in = islands[i].createGenomes(migrants * (islands.length - 1));
+		int count = 0;
+		for (int j = 0; j < islands.length; j++) {
+			if (j == i)
+				continue;
+			for (int m = 0; m < numEmigrants[j]; m++)
+				emigrants[j].copy(m, in, count++);
+		}
+		islands[i].importMigrants(in, count);
+	}
+	
+	/**
+	 * Stop the threads of the Archipelago and its islands
+	 */
+	public void shutdown() {
+		pool.shutdown();
+		for (Population p : islands)
+			p.shutdown();
+	}
+}
@@ -0,0 +1,137 @@
+/**
+ * ChunkRunner
+ * Author: agent
+ * Created on: 18/10/2026
+ * Runs work over fixed-size chunks of Dots, in parallel on a fork-join pool if asked to
+ */
+
+package main;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class ChunkRunner {
+	//Constants
+	public static final int CHUNK_SIZE = 1024;		//Number of Dots in a chunk
+	
+	//Attributes
+	private ForkJoinPool pool;						//Pool to run chunks on, null to run on the calling thread
+	private int parallelism;						//Number of threads chunks are run on
+	
+	/**
+	 * Work done on one chunk of Dots
+	 */
+	public interface ChunkTask {
+		/**
+		 * Run the work on one chunk
+		 * @param chunk Index of the chunk
+		 * @param from Index of the first Dot in the chunk
+		 * @param to Index after the last Dot in the chunk
+		 */
+		void run(int chunk, int from, int to);
+	}
+	
+	/**
+	 * Create a ChunkRunner
+	 * @param parallelism Number of threads to run chunks on, 1 to run on the calling thread
+	 */
+	public ChunkRunner(int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+		this.pool = this.parallelism > 1 ? new ForkJoinPool(this.parallelism) : null;
+	}
+	
+	/**
+	 * Get the number of threads chunks are run on
+	 * @return Number of threads chunks are run on
+	 */
+	public int parallelism() {
+		return parallelism;
+	}
+	
+	/**
+	 * Get the number of chunks n Dots are split into
+	 * Chunks do not depend on the parallelism so results of chunked reductions are the same on any pool
+	 * @param n Number of Dots
+	 * @return Number of chunks
+	 */
+	public static int numChunks(int n) {
+		return (n + CHUNK_SIZE - 1) / CHUNK_SIZE;
+	}
+	
+	/**
+	 * Run a task over every chunk of n Dots and wait for all of them to finish
+	 * @param n Number of Dots
+	 * @param task Work to do on each chunk
+	 */
+	public void forEachChunk(int n, ChunkTask task) {
+		int chunks = numChunks(n);
+		
+		//not worth splitting up
+		if (pool == null || chunks == 1) {
+			for (int c = 0; c < chunks; c++)
+				runChunk(n, c, task);
+			return;
+		}
+		
+		pool.invoke(new ChunkAction(n, 0, chunks, task));
+	}
+	
+	/**
+	 * Run a task on one chunk
+	 * @param n Number of Dots
+	 * @param c Index of the chunk
+	 * @param task Work to do on the chunk
+	 */
+	private static void runChunk(int n, int c, ChunkTask task) {
+		int from = c * CHUNK_SIZE;
+		task.run(c, from, Math.min(n, from + CHUNK_SIZE));
+	}
+	
+	/**
+	 * Stop the threads of the pool
+	 */
+	public void shutdown() {
+		if (pool != null)
+			pool.shutdown();
+	}
+	
+	/**
+	 * Splits a range of chunks in half until there is one chunk left to run
+	 */
+	private static class ChunkAction extends RecursiveAction {
+		//Constants
+		private static final long serialVersionUID = 1L;	//Version of the serialized form
+		
+		//Attributes
+		private int n;				//Number of Dots
+		private int lo;				//First chunk in the range
+		private int hi;				//Chunk after the last one in the range
+		private ChunkTask task;		//Work to do on each chunk
+		
+		/**
+		 * Create a ChunkAction
+		 * @param n Number of Dots
+		 * @param lo First chunk in the range
+		 * @param hi Chunk after the last one in the range
+		 * @param task Work to do on each chunk
+		 */
+		ChunkAction(int n, int lo, int hi, ChunkTask task) {
+			this.n = n;
+			this.lo = lo;
+			this.hi = hi;
+			this.task = task;
+		}
+		
+		/**
+		 * Run the chunk or split the range
+		 */
+		protected void compute() {
+			if (hi - lo == 1) {
+				runChunk(n, lo, task);
+				return;
+			}
+			int mid = (lo + hi) >>> 1;
+			invokeAll(new ChunkAction(n, lo, mid, task), new ChunkAction(n, mid, hi, task));
+		}
+	}
+}
@@ -13,8 +13,8 @@ import java.awt.Graphics2D;
 public class Dot extends Vec {
 	//Constants
 	public static final double STEP_SIZE = 15;	//Length of step the Dot can take
-	private static final int RAD = 3;			//Default Dot radius
-
+	public static final int RAD = 3;			//Default Dot radius
+	
 	//Attributes
 	private int rad;							//Radius in pixels
 	private Color color;						//RGB color
@@ -25,13 +25,26 @@ public class Dot extends Vec {
 	private boolean atGoal;						//Whether the Dot is at the goal or not
 	
 	/**
-	 * Create a Dot
+	 * Create a Dot with random directions, different every time
+	 * Use the constructor taking an Rng for directions that can be repeated
 	 * @param x Starting x position in pixels
 	 * @param y Starting y position in pixels
 	 * @param color Color of the Dot
 	 * @param steps Steps the Dot can take before dying
 	 */
 	public Dot(int x, int y, Color color, int steps) {
+		this(x, y, color, steps, new Rng(Rng.randomSeed()));
+	}
+	
+	/**
+	 * Create a Dot with random directions from a given generator
+	 * @param x Starting x position in pixels
+	 * @param y Starting y position in pixels
+	 * @param color Color of the Dot
+	 * @param steps Steps the Dot can take before dying
+	 * @param rand Random number generator to draw the directions from
+	 */
+	public Dot(int x, int y, Color color, int steps, Rng rand) {
 		//set attributes
 		super(x, y);
 		this.color = color;
@@ -45,11 +58,37 @@ public class Dot extends Vec {
 		this.rad = RAD;
 		stepsTaken = 0;
 		directions = new Vec[steps];
-		fillDirections();
+		fillDirections(rand);
+	}
+	
+	/**
+	 * Create a Dot with given directions
+	 * @param x Starting x position in pixels
+	 * @param y Starting y position in pixels
+	 * @param color Color of the Dot
+	 * @param directions Directions for the Dot to move in
+	 */
+	public Dot(double x, double y, Color color, Vec[] directions) {
+		//set attributes
+		super(x, y);
+		this.color = color;
+		this.vel = new Vec();
+		this.rad = RAD;
+		this.directions = directions;
+	}
+	
+	/**
+	 * Create a Dot without directions that stays where it is, such as a goal or an obstacle
+	 * @param x X position in pixels
+	 * @param y Y position in pixels
+	 * @param color Color of the Dot
+	 */
+	public Dot(double x, double y, Color color) {
+		this(x, y, color, new Vec[0]);
 	}
 	
 	/**
-	 * Create a default dot
+	 * Create a default dot with random directions, different every time
 	 */
 	public Dot() {
 		this(0, 0, Color.WHITE, 100);
@@ -127,6 +166,14 @@ public class Dot extends Vec {
 		return stepsTaken;
 	}
 	
+	/**
+	 * Set the number of steps taken by the Dot
+	 * @param stepsTaken Number of steps taken by the Dot
+	 */
+	public void setStepsTaken(int stepsTaken) {
+		this.stepsTaken = stepsTaken;
+	}
+	
 	/**
 	 * Set the goal status of the Dot
 	 * @param atGoal True if at the Dot
@@ -153,10 +200,11 @@ public class Dot extends Vec {
 	
 	/**
 	 * Fill the array of random directions for the Dot to take
+	 * @param rand Random number generator to draw the directions from
 	 */
-	private void fillDirections() {
+	private void fillDirections(Rng rand) {
 		for (int i = 0; i < directions.length; i++)
-			directions[i] = randomVec(STEP_SIZE);
+			directions[i] = randomVec(rand, STEP_SIZE);
 	}
 	
 	/**
@@ -169,12 +217,13 @@ public class Dot extends Vec {
 	}
 	
 	/**
-	 * Create a random vector
+	 * Create a random vector from a given generator
+	 * @param rand Random number generator to draw the angle from
 	 * @param mag Desired magnitude of the Vector
 	 * @return Random vector with magnitude mag
 	 */
-	public static Vec randomVec(double mag) {
-		return Vec.fromAngle(Math.random() * 2 * Math.PI, mag);
+	public static Vec randomVec(Rng rand, double mag) {
+		return Vec.fromAngle(rand.nextAngle(), mag);
 	}
 	
 	/**
@@ -190,7 +239,7 @@ public class Dot extends Vec {
 				this.addX(directions[stepsTaken].x());
 				this.addY(directions[stepsTaken].y());
 				stepsTaken++;
-				
+			
 			// else, it is dead
 			} else {
 				dead = true;
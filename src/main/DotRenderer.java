@@ -0,0 +1,161 @@
+/**
+ * DotRenderer
+ * Author: agent
+ * Created on: 18/10/2026
+ * Draws Dots straight into the pixels of an offscreen image instead of one fillOval per Dot
+ */
+
+package main;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+public class DotRenderer {
+	//Constants
+	public static final int DEAD = Color.RED.getRGB();		//Pixel of a dead Dot
+	public static final int AT_GOAL = Color.GREEN.getRGB();	//Pixel of a Dot at the goal
+	public static final int CHAMP_RAD = 6;					//Radius the Champion is drawn with
+	private static final int CHAMP_RGB = Color.GREEN.getRGB();	//Color the Champion is drawn with
+	private static final int DOT_RGB = Color.WHITE.getRGB();	//Color the rest of the Dots are drawn with
+	
+	//Attributes
+	private int width;						//Width of the image in pixels
+	private int height;						//Height of the image in pixels
+	private BufferedImage image;			//Image the Dots are drawn into, transparent elsewhere
+	private int[] pixels;					//ARGB pixels of the image, row-major
+	private int[][] sprites;				//Pixels covered by a circle of each radius, as (dx, dy) pairs
+	private int minRow;						//First row drawn into since the last clear
+	private int maxRow;						//Last row drawn into since the last clear
+	
+	/**
+	 * Create a renderer for a space
+	 * @param width Width of the space in pixels
+	 * @param height Height of the space in pixels
+	 */
+	public DotRenderer(int width, int height) {
+		this.width = width;
+		this.height = height;
+		this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+		this.sprites = new int[0][];
+		this.minRow = 0;
+		this.maxRow = height - 1;
+	}
+	
+	/**
+	 * Get the image the Dots are drawn into
+	 * @return Image with y going down the rows, the same way Dot positions are stored
+	 */
+	public BufferedImage image() {
+		return image;
+	}
+	
+	/**
+	 * Make the image transparent again, only touching the rows drawn into
+	 */
+	public void clear() {
+		if (minRow <= maxRow)
+			Arrays.fill(pixels, minRow * width, (maxRow + 1) * width, 0);
+		minRow = height;
+		maxRow = -1;
+	}
+	
+	/**
+	 * Get the pixels a circle covers, the same ones fillOval fills, building them the first time
+	 * @param rad Radius of the circle in pixels
+	 * @return (dx, dy) of each pixel from the top left corner of the circle's bounding box
+	 */
+	private int[] sprite(int rad) {
+		if (rad >= sprites.length)
+			sprites = Arrays.copyOf(sprites, rad + 1);
+		if (sprites[rad] == null) {
+			int[] offsets = new int[8 * rad * rad];
+			int n = 0;
+			for (int dy = 0; dy < 2 * rad; dy++) {
+				for (int dx = 0; dx < 2 * rad; dx++) {
+					double cx = dx + 0.5 - rad;
+					double cy = dy + 0.5 - rad;
+					if (cx * cx + cy * cy <= rad * rad) {
+						offsets[n++] = dx;
+						offsets[n++] = dy;
+					}
+				}
+			}
+			sprites[rad] = Arrays.copyOf(offsets, n);
+		}
+		return sprites[rad];
+	}
+	
+	/**
+	 * Draw a circle
+	 * @param x X position of the center
+	 * @param y Y position of the center
+	 * @param rad Radius in pixels
+	 * @param argb Color of the circle
+	 */
+	public void fill(double x, double y, int rad, int argb) {
+		int[] sprite = sprite(rad);
+		int x0 = (int) (x - rad);
+		int y0 = (int) (y - rad);
+		int x1 = x0 + 2 * rad;
+		int y1 = y0 + 2 * rad;
+		if (x1 <= 0 || y1 <= 0 || x0 >= width || y0 >= height)
+			return;
+		minRow = Math.max(0, Math.min(minRow, y0));
+		maxRow = Math.min(height - 1, Math.max(maxRow, y1 - 1));
+		
+		//no bounds checks if it is fully inside
+		if (x0 >= 0 && y0 >= 0 && x1 <= width && y1 <= height) {
+			int corner = y0 * width + x0;
+			for (int k = 0; k < sprite.length; k += 2)
+				pixels[corner + sprite[k + 1] * width + sprite[k]] = argb;
+			return;
+		}
+		
+		for (int k = 0; k < sprite.length; k += 2) {
+			int px = x0 + sprite[k];
+			int py = y0 + sprite[k + 1];
+			if (px >= 0 && py >= 0 && px < width && py < height)
+				pixels[py * width + px] = argb;
+		}
+	}
+	
+	/**
+	 * Draw a Dot in the color Dot.draw would give it
+	 * @param x X position of the Dot
+	 * @param y Y position of the Dot
+	 * @param rad Radius in pixels
+	 * @param dead Whether the Dot is dead
+	 * @param atGoal Whether the Dot is at the goal
+	 * @param argb Color of the Dot if it is alive and away from the goal
+	 */
+	public void fillDot(double x, double y, int rad, boolean dead, boolean atGoal, int argb) {
+		fill(x, y, rad, dead ? DEAD : atGoal ? AT_GOAL : argb);
+	}
+	
+	/**
+	 * Clear the image and draw a Population's Dots into it, the Champion in slot 0 bigger and green
+	 * @param xs X position of each Dot
+	 * @param ys Y position of each Dot
+	 * @param dead Whether each Dot is dead
+	 * @param atGoal Whether each Dot is at the goal
+	 * @param count Number of Dots
+	 * @param champOnly Whether to draw just the Champion
+	 */
+	public void drawDots(double[] xs, double[] ys, boolean[] dead, boolean[] atGoal, int count, boolean champOnly) {
+		clear();
+		if (count == 0)
+			return;
+		
+		//Augment the champion graphically
+		fillDot(xs[0], ys[0], CHAMP_RAD, dead[0], atGoal[0], CHAMP_RGB);
+		
+		//Draw the rest of the dots
+		if (!champOnly) {
+			for (int i = 1; i < count; i++)
+				fillDot(xs[i], ys[i], Dot.RAD, dead[i], atGoal[i], DOT_RGB);
+		}
+	}
+}
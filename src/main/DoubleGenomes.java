@@ -0,0 +1,213 @@
+/**
+ * DoubleGenomes
+ * Author: agent
+ * Created on: 18/10/2026
+ * Genomes storing each step as its (dx,dy) pair of doubles, Dot-major
+ */
+
+package main;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Arrays;
+
+public class DoubleGenomes extends Genomes {
+	//Attributes
+	private double[] genes;			//(dx,dy) of each step of each Dot, Dot-major
+	
+	/**
+	 * Create a set of Genomes filled with zero steps
+	 * @param size Number of Dots
+	 * @param steps Number of steps each Dot can take
+	 */
+	public DoubleGenomes(int size, int steps) {
+		super(size, steps);
+		this.genes = new double[size * steps * 2];
+	}
+	
+	/**
+	 * Get how the steps are stored
+	 * @return DOUBLES
+	 */
+	public Layout layout() {
+		return Layout.DOUBLES;
+	}
+	
+	/**
+	 * Get the x component of a step
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @return X component of the step
+	 */
+	public double dx(int dot, int step) {
+		return genes[(dot * steps + step) * 2];
+	}
+	
+	/**
+	 * Get the y component of a step
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @return Y component of the step
+	 */
+	public double dy(int dot, int step) {
+		return genes[(dot * steps + step) * 2 + 1];
+	}
+	
+	/**
+	 * Set a step
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @param dx X component of the step
+	 * @param dy Y component of the step
+	 */
+	public void set(int dot, int step, double dx, double dy) {
+		int i = (dot * steps + step) * 2;
+		if (hashes != null)
+			hashes[dot] ^= stepHash(dot, step) ^ mix(step, Double.doubleToLongBits(dx), 
+													 Double.doubleToLongBits(dy));
+		genes[i] = dx;
+		genes[i + 1] = dy;
+	}
+	
+	/**
+	 * Get the angle of a step
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @return Angle of the step in radians, in [-PI, PI]
+	 */
+	public double angle(int dot, int step) {
+		int i = (dot * steps + step) * 2;
+		return Math.atan2(genes[i + 1], genes[i]);
+	}
+	
+	/**
+	 * Set a step from an angle
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @param angRad Angle of the step in radians
+	 */
+	public void setAngle(int dot, int step, double angRad) {
+		set(dot, step, Math.cos(angRad) * Dot.STEP_SIZE, Math.sin(angRad) * Dot.STEP_SIZE);
+	}
+	
+	/**
+	 * Copy a Dot's steps into another set of Genomes
+	 * @param from Index of the Dot to copy
+	 * @param dst Genomes to copy into
+	 * @param to Index of the Dot to copy into
+	 */
+	public void copy(int from, Genomes dst, int to) {
+		if (!(dst instanceof DoubleGenomes)) {
+			copySteps(from, dst, to);
+			return;
+		}
+		System.arraycopy(genes, from * steps * 2, ((DoubleGenomes) dst).genes, to * steps * 2, steps * 2);
+		copyHash(from, dst, to);
+	}
+	
+	/**
+	 * Hash a step as it is stored
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @return Hash of the step's dx and dy bits
+	 */
+	protected long stepHash(int dot, int step) {
+		int i = (dot * steps + step) * 2;
+		return mix(step, Double.doubleToLongBits(genes[i]), Double.doubleToLongBits(genes[i + 1]));
+	}
+	
+	/**
+	 * Check whether a Dot's first steps are the same as a copy made by copyTo
+	 * @param dot Index of the Dot
+	 * @param copy Steps to compare against, (dx,dy) per step
+	 * @param n Number of steps to compare
+	 * @return True if each of the first n steps is the same
+	 */
+	public boolean matches(int dot, double[] copy, int n) {
+		int from = dot * steps * 2;
+		return Arrays.equals(genes, from, from + n * 2, copy, 0, n * 2);
+	}
+	
+	/**
+	 * Check whether two Dots have the same directions at every step
+	 * @param a Index of one Dot
+	 * @param b Index of the other Dot
+	 * @return True if every step is the same
+	 */
+	public boolean sameSteps(int a, int b) {
+		int n = steps * 2;
+		return Arrays.equals(genes, a * n, (a + 1) * n, genes, b * n, (b + 1) * n);
+	}
+	
+	/**
+	 * Copy a Dot's first steps out as (dx,dy) per step
+	 * @param dot Index of the Dot
+	 * @param copy Array of at least 2 * n doubles to copy into
+	 * @param n Number of steps to copy
+	 */
+	public void copyTo(int dot, double[] copy, int n) {
+		System.arraycopy(genes, dot * steps * 2, copy, 0, n * 2);
+	}
+	
+	/**
+	 * Write a Dot's steps into a buffer as raw doubles, (dx,dy) per step
+	 * @param dot Index of the Dot
+	 * @param buf Buffer to write to, advanced past the steps
+	 */
+	public void write(int dot, ByteBuffer buf) {
+		buf.asDoubleBuffer().put(genes, dot * steps * 2, steps * 2);
+		buf.position(buf.position() + steps * 2 * Double.BYTES);
+	}
+	
+	/**
+	 * Read a Dot's steps from a buffer written by write()
+	 * @param buf Buffer to read from, advanced past the steps
+	 * @param dot Index of the Dot
+	 */
+	public void read(ByteBuffer buf, int dot) {
+		buf.asDoubleBuffer().get(genes, dot * steps * 2, steps * 2);
+		buf.position(buf.position() + steps * 2 * Double.BYTES);
+		if (hashes != null)
+			rehash(dot);
+	}
+	
+	/**
+	 * Copy every Dot's steps into a file through memory-mapped regions, as little-endian doubles, and
+	 * write them out to the disk
+	 * @param ch File to write to, grown if needed
+	 * @param pos Position in the file to start at
+	 * @throws IOException If the file cannot be mapped
+	 */
+	public void save(FileChannel ch, long pos) throws IOException {
+		long bytes = (long) genes.length * Double.BYTES;
+		for (long done = 0; done < bytes; done += MAP_REGION) {
+			long len = Math.min(MAP_REGION, bytes - done);
+			MappedByteBuffer region = ch.map(MapMode.READ_WRITE, pos + done, len);
+			region.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer()
+				.put(genes, (int) (done / Double.BYTES), (int) (len / Double.BYTES));
+			region.force();
+		}
+	}
+	
+	/**
+	 * Copy every Dot's steps from a file written by save() on DoubleGenomes or OffHeapGenomes
+	 * @param ch File to read from
+	 * @param pos Position in the file to start at
+	 * @throws IOException If the file cannot be mapped or is too short
+	 */
+	public void load(FileChannel ch, long pos) throws IOException {
+		long bytes = (long) genes.length * Double.BYTES;
+		if (ch.size() < pos + bytes)
+			throw new IOException("File holds " + (ch.size() - pos) + " bytes of steps, expected " + bytes);
+		for (long done = 0; done < bytes; done += MAP_REGION) {
+			long len = Math.min(MAP_REGION, bytes - done);
+			ch.map(MapMode.READ_ONLY, pos + done, len).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer()
+				.get(genes, (int) (done / Double.BYTES), (int) (len / Double.BYTES));
+		}
+		rehashAll();
+	}
+}
@@ -9,13 +9,20 @@ package main;
 
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.util.ArrayList;
+import java.awt.event.ActionEvent;
+import java.io.IOException;
 
+import javax.swing.AbstractAction;
 import javax.swing.JComponent;
+import javax.swing.KeyStroke;
 
 public class Environment extends JComponent {
+	//Constants
+	private static final String[] TEXT_FORMATS = {"accuracy: %.2f%%", "maxFitness: %.6f", "minSteps: %.2f"};	//Text items
+	
 	//Attributes
 	private int width;							//Width in pixels
 	private int height;							//Height in pixels
@@ -24,7 +31,18 @@ public class Environment extends JComponent {
 	private double goalAccuracy;				//Goal accuracy to reach
 	private int goalGen;						//Goal generation number to run to
 	private double accuracy;					//How accurate the evolved solution is
-	private ArrayList<Object[]> textItems;		//Text items to print out
+	private String[] textLines;					//Text items to print out, formatted
+	private double[] textValues;				//Values the text items were formatted with
+	private String genText;						//Generation number, formatted
+	private int textGen;						//Generation number genText was formatted with
+	private Font genFont;						//Font of the generation number, null until the first paint
+	private Font textFont;						//Font of the text items
+	private MetricsWriter metrics;				//Where to stream the results of each generation, null if nowhere
+	private TripleBuffer<FrameSnapshot> frames;	//Latest frame handed from the simulation thread to the painter
+	private DotRenderer renderer;				//Draws the Dots of each frame, only used by the painter
+	private RunRecording replay;				//Recording whose champions are shown, null when evolving
+	private volatile int replayGen;				//Generation whose champion to show, set from the keyboard
+	private volatile boolean restart;			//Whether to start replaying replayGen from the beginning
 	
 	/**
 	 * Create an Environment
@@ -40,16 +58,30 @@ public class Environment extends JComponent {
 		//Reset values
 		goalAccuracy = 0;
 		accuracy = 0;
+		frames = new TripleBuffer<FrameSnapshot>(new FrameSnapshot(), new FrameSnapshot(), new FrameSnapshot());
+		renderer = new DotRenderer(width, height);
+		initFormattedText();
 	}
 	
 	/**
 	 * Initialized the list of formatted text items to print
 	 */
 	private void initFormattedText() {
-		textItems = new ArrayList<Object[]>();
-		textItems.add(new Object[] {"accuracy: %.2f%%", accuracy*100.0});
-		textItems.add(new Object[] {"maxFitness: %.6f", pop.maxFitness()});
-		textItems.add(new Object[] {"minSteps: %.2f", (double) pop.minSteps()});
+		textLines = new String[TEXT_FORMATS.length];
+		textValues = new double[TEXT_FORMATS.length];
+		genText = null;
+	}
+	
+	/**
+	 * Format a text item again only if its value changed
+	 * @param i Index of the text item
+	 * @param value Current value of the item
+	 */
+	private void setText(int i, double value) {
+		if (textLines[i] == null || Double.compare(value, textValues[i]) != 0) {
+			textValues[i] = value;
+			textLines[i] = String.format(TEXT_FORMATS[i], value);
+		}
 	}
 	
 	/**
@@ -58,7 +90,55 @@ public class Environment extends JComponent {
 	 */
 	public void setPopulation(Population p) {
 		pop = p;
-		initFormattedText();
+		publishFrame();
+	}
+	
+	/**
+	 * Hand the painter a copy of the Population as it is now, without waiting for it
+	 */
+	private void publishFrame() {
+		pop.snapshot(frames.back(), minPossibleSteps);
+		frames.publish();
+	}
+	
+	/**
+	 * Show the champions of a recorded run instead of evolving, starting with the last one
+	 * Left and right go back and forward a generation, down and up ten, home and end to the first and last,
+	 * and space replays the champion again
+	 * @param rec Recording to replay, with at least one generation
+	 * @throws IOException If the recorded space cannot be read
+	 */
+	public void setReplay(RunRecording rec) throws IOException {
+		replay = rec;
+		replayGen = rec.lastGen();
+		setPopulation(rec.replay(replayGen));
+		bindKey("LEFT", -1);
+		bindKey("RIGHT", 1);
+		bindKey("DOWN", -10);
+		bindKey("UP", 10);
+		bindKey("HOME", Integer.MIN_VALUE);
+		bindKey("END", Integer.MAX_VALUE);
+		bindKey("SPACE", 0);
+	}
+	
+	/**
+	 * Move the replay to another generation when a key is pressed anywhere in the window
+	 * @param key Name of the key, as KeyStroke takes it
+	 * @param change Generations to move by, kept within the recording
+	 */
+	private void bindKey(String key, int change) {
+		getInputMap(WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(key), key);
+		getActionMap().put(key, new AbstractAction() {
+			/**
+			 * Ask the simulation thread to show the new generation's champion from the start
+			 * @param e Key press
+			 */
+			public void actionPerformed(ActionEvent e) {
+				long gen = (long) replayGen + change;
+				replayGen = (int) Math.max(replay.firstGen(), Math.min(replay.lastGen(), gen));
+				restart = true;
+			}
+		});
 	}
 	
 	/**
@@ -94,41 +174,93 @@ public class Environment extends JComponent {
 	}
 	
 	/**
-	 * Update the simulation
+	 * Stream the results of each generation to a file, closed once the simulation finishes
+	 * @param metrics Writer to record each generation with
+	 */
+	public void setMetrics(MetricsWriter metrics) {
+		this.metrics = metrics;
+	}
+	
+	/**
+	 * Check whether the end condition of the simulation has been reached
+	 * @return Whether the goal accuracy or goal generation has been reached
 	 */
-	public void update() {		
+	public boolean isFinished() {
 		//if there is a goal accuracy to run until
-		if (goalAccuracy != 0) {
-			while (accuracy < goalAccuracy)
-				simulate();
+		if (goalAccuracy != 0)
+			return accuracy >= goalAccuracy;
 		
 		//generation to run simulation until
-		} else if (goalGen != 0) {
-			while (pop.gen() <= goalGen)
-				simulate();
-			
+		if (goalGen != 0)
+			return pop.gen() > goalGen;
+		
 		//running indefinitely
-		} else {
+		return false;
+	}
+	
+	/**
+	 * Update the simulation by one step and ask for it to be redrawn
+	 * Only this thread touches the Population, the painter draws the latest frame published from here
+	 */
+	public void update() {
+		if (replay != null) {
+			stepReplay();
+		} else if (!isFinished()) {
 			simulate();
+			publishFrame();
+		} else if (metrics != null) {
+			closeMetrics();
+		}
+		repaint();
+	}
+	
+	/**
+	 * Move the recorded champion along its trajectory, rebuilding it first if another one was asked for
+	 */
+	private void stepReplay() {
+		if (restart) {
+			restart = false;
+			try {
+				pop = replay.replay(replayGen);
+			} catch (IOException e) {
+				System.err.println("cannot replay generation " + replayGen + ": " + e.getMessage());
+			}
+		} else if (!pop.isGenFinished()) {
+			pop.step();
 		}
+		accuracy = pop.accuracy(minPossibleSteps);
+		publishFrame();
 	}
 	
 	/**
 	 * Simulate the population
 	 */
 	private void simulate() {
-		//calculate the accuracy
-		accuracy = pop.minSteps() == pop.steps() ? 0 : 
-					((double) minPossibleSteps / pop.minSteps());
-		
-		//if the population is not finished
+		//if the population is not finished, step it
 		if (!pop.isGenFinished()) {
-			repaint();
-			
+			pop.step();
+		
 		//if it is, start the next one
 		} else {
 			pop.nextGeneration();
+			if (metrics != null)
+				metrics.record(pop, minPossibleSteps);
+		}
+		
+		//calculate the accuracy
+		accuracy = pop.accuracy(minPossibleSteps);
+	}
+	
+	/**
+	 * Write out the rest of the metrics and stop recording
+	 */
+	private void closeMetrics() {
+		try {
+			metrics.close();
+		} catch (IOException e) {
+			System.err.println("metrics failed: " + e.getMessage());
 		}
+		metrics = null;
 	}
 	
 	/**
@@ -141,39 +273,53 @@ public class Environment extends JComponent {
 		g2.setColor(Color.BLACK);
 		g2.fillRect(0, 0, width, height);
 		
+		//Nothing to draw until the simulation publishes a frame
+		FrameSnapshot frame = frames.latest();
+		if (frame == null)
+			return;
+		
 		//Draw the text to the screen
 		int x = (int) (width * 0.01);
-		textToScreen(g2, x);
+		textToScreen(g2, x, frame);
 		
-		//Scale to population coordinates and update the population
+		//Scale to population coordinates and draw the population
 		g2.scale(1.0, -1.0);
 		g2.translate(0, -height);
-		pop.update(g2);
+		frame.draw(g2, renderer);
 	}
 	
 	/**
 	 * Draw the text items to the screen
 	 * @param g2 Drawing object
 	 * @param x X position of text
+	 * @param frame Frame to show the stats of
 	 */
-	private void textToScreen(Graphics2D g2, int x) {
+	private void textToScreen(Graphics2D g2, int x, FrameSnapshot frame) {
+		//Derive the fonts once
+		if (genFont == null) {
+			genFont = g2.getFont().deriveFont(40f);
+			textFont = genFont.deriveFont(20f);
+		}
+		
 		g2.setColor(Color.WHITE);
-		g2.setFont(g2.getFont().deriveFont(40f));
-		g2.drawString(Integer.toString(pop.gen()), x, (int) (height * 0.05));
+		g2.setFont(genFont);
+		if (genText == null || textGen != frame.gen()) {
+			textGen = frame.gen();
+			genText = Integer.toString(textGen);
+		}
+		g2.drawString(genText, x, (int) (height * 0.05));
 		
-		g2.setFont(g2.getFont().deriveFont(20f));
-		textItems.clear();
-		textItems.add(new Object[] {"accuracy: %.2f%%", accuracy*100.0});
-		textItems.add(new Object[] {"maxFitness: %.6f", pop.maxFitness()});
-		textItems.add(new Object[] {"minSteps: %.2f", (double) pop.minSteps()});
+		g2.setFont(textFont);
+		setText(0, frame.accuracy()*100.0);
+		setText(1, frame.maxFitness());
+		setText(2, (double) frame.minSteps());
 		
 		//Draw items in the list
 		double step = 0.025;
 		double s = 0.1;  //start
-		for (int i = 0; i < textItems.size(); i++) {
+		for (int i = 0; i < textLines.length; i++) {
 			s += step;
-			g2.drawString(String.format((String) textItems.get(i)[0], (Double) textItems.get(i)[1]), 
-							x, (int) (height * s));
+			g2.drawString(textLines[i], x, (int) (height * s));
 		}
 	}	
 }
\ No newline at end of file
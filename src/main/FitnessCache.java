@@ -0,0 +1,319 @@
+/**
+ * FitnessCache
+ * Author: agent
+ * Created on: 18/10/2026
+ * Bounded store of where simulated genomes ended up, so identical directions do not have to be run again
+ * Entries are looked up by a hash of the directions and checked against a copy of the steps the Dot
+ * actually took, since the ones after it died or reached the goal cannot change where it ended up.
+ * The least recently used entry is dropped to make room once the cache is full.
+ * Hashes are kept in a primitive open-addressing table, linear probing with backward-shift deletion, and
+ * the entries in a fixed pool linked in order of use, so nothing is boxed or allocated once it is full.
+ */
+
+package main;
+
+import java.util.Arrays;
+
+public class FitnessCache {
+	//Attributes
+	private int capacity;							//Most entries kept at once
+	private long[] keys;							//Hash in each slot of the table
+	private int[] slots;							//Entry in each slot of the table plus one, 0 if the slot is empty
+	private int mask;								//Number of slots minus one, a power of two minus one
+	private Entry[] entries;						//Every entry, allocated as the cache first fills up
+	private int[] older;							//Entry used just before each one, -1 for the least recently used
+	private int[] newer;							//Entry used just after each one, -1 for the most recently used
+	private int oldest;								//Least recently used entry, -1 if the cache is empty
+	private int newest;								//Most recently used entry, -1 if the cache is empty
+	private int count;								//Number of entries in the cache
+	private long hits;								//Lookups answered from the cache or a Dot of the same generation
+	private long misses;							//Lookups that had to be simulated
+	private long evictions;							//Entries dropped to make room
+	
+	/**
+	 * Where a genome ended up when it was run from the start point
+	 */
+	static class Entry {
+		int id;								//Index of the entry in the pool
+		long hash;							//Hash of the directions
+		double[] genes;						//Copy of the directions it used, to rule out hash collisions
+		double x;							//X position it ended at
+		double y;							//Y position it ended at
+		int steps;							//Steps it took
+		boolean dead;						//Whether it died
+		boolean atGoal;						//Whether it reached the goal
+		boolean crashed;					//Whether it hit an edge or an obstacle
+		double clearance;					//Closest it came to the edge of an obstacle
+		int minSteps;						//Steps taken by the best Dot when it was run
+		
+		/**
+		 * Check whether the Dot would end up the same way with a different limit on its steps
+		 * Dots are killed once they have taken more than minSteps, so the result holds for any limit the
+		 * Dot never went past, or for the same limit it was cut off by
+		 * @param limit Steps taken by the best Dot now
+		 * @return True if running the Dot again would give this result
+		 */
+		boolean validFor(int limit) {
+			//last number of steps the limit was checked against, one less if the step reached the goal
+			int checked = atGoal && !dead ? steps - 1 : steps;
+			return limit == minSteps || (checked <= minSteps && checked <= limit);
+		}
+	}
+	
+	/**
+	 * Create an empty cache
+	 * @param capacity Most genomes remembered at once
+	 */
+	public FitnessCache(int capacity) {
+		this.capacity = Math.max(1, capacity);
+		
+		//at most half full so probes stay short
+		int numSlots = Integer.highestOneBit(this.capacity) << 2;
+		this.keys = new long[numSlots];
+		this.slots = new int[numSlots];
+		this.mask = numSlots - 1;
+		this.entries = new Entry[this.capacity];
+		this.older = new int[this.capacity];
+		this.newer = new int[this.capacity];
+		this.oldest = -1;
+		this.newest = -1;
+	}
+	
+	/**
+	 * Get the slot a hash is in, or the empty slot it would go in
+	 * @param hash Hash of a Dot's directions
+	 * @return Index of the slot
+	 */
+	private int slotOf(long hash) {
+		int s = home(hash);
+		while (slots[s] != 0 && keys[s] != hash)
+			s = (s + 1) & mask;
+		return s;
+	}
+	
+	/**
+	 * Get the first slot a hash is probed at
+	 * @param hash Hash of a Dot's directions
+	 * @return Index of the slot
+	 */
+	private int home(long hash) {
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+	
+	/**
+	 * Empty the slot of a hash in the table, moving later entries of the same run back into the gap so every
+	 * entry can still be reached from its home slot
+	 * @param hash Hash in the table
+	 */
+	private void removeKey(long hash) {
+		int gap = slotOf(hash);
+		slots[gap] = 0;
+		for (int s = (gap + 1) & mask; slots[s] != 0; s = (s + 1) & mask) {
+			//the entry can move back if the gap is between its home slot and where it is now
+			if (((s - home(keys[s])) & mask) >= ((s - gap) & mask)) {
+				keys[gap] = keys[s];
+				slots[gap] = slots[s];
+				slots[s] = 0;
+				gap = s;
+			}
+		}
+	}
+	
+	/**
+	 * Take an entry out of the order of use
+	 * @param id Index of the entry
+	 */
+	private void unlink(int id) {
+		if (older[id] < 0)
+			oldest = newer[id];
+		else
+			newer[older[id]] = newer[id];
+		if (newer[id] < 0)
+			newest = older[id];
+		else
+			older[newer[id]] = older[id];
+	}
+	
+	/**
+	 * Put an entry at the most recently used end of the order of use
+	 * @param id Index of the entry, not in the order
+	 */
+	private void append(int id) {
+		older[id] = newest;
+		newer[id] = -1;
+		if (newest < 0)
+			oldest = id;
+		else
+			newer[newest] = id;
+		newest = id;
+	}
+	
+	/**
+	 * Find the result of a Dot's directions, without changing the cache so it can be called from many threads
+	 * at once as long as nothing is being added
+	 * @param hash Hash of the Dot's directions from Genomes.hash
+	 * @param genomes Directions of every Dot
+	 * @param dot Index of the Dot
+	 * @param minSteps Steps taken by the best Dot now
+	 * @return Entry for the same directions that still holds, null if there is none
+	 */
+	Entry find(long hash, Genomes genomes, int dot, int minSteps) {
+		int s = slotOf(hash);
+		if (slots[s] == 0)
+			return null;
+		Entry e = entries[slots[s] - 1];
+		if (!e.validFor(minSteps) || !genomes.matches(dot, e.genes, e.steps))
+			return null;
+		return e;
+	}
+	
+	/**
+	 * Count a lookup answered by an entry and mark the entry as the most recently used
+	 * @param e Entry returned by find
+	 */
+	void hit(Entry e) {
+		hits++;
+		unlink(e.id);
+		append(e.id);
+	}
+	
+	/**
+	 * Count a lookup answered by another Dot of the same generation with the same directions, which was run
+	 * in its place
+	 */
+	void twin() {
+		hits++;
+	}
+	
+	/**
+	 * Count a lookup that had to be simulated and remember its result, dropping the least recently used
+	 * entry if the cache is full
+	 * @param hash Hash of the Dot's directions from Genomes.hash
+	 * @param genomes Directions of every Dot
+	 * @param dot Index of the Dot, already run from the start point
+	 * @param x X position it ended at
+	 * @param y Y position it ended at
+	 * @param steps Steps it took
+	 * @param dead Whether it died
+	 * @param atGoal Whether it reached the goal
+	 * @param crashed Whether it hit an edge or an obstacle
+	 * @param clearance Closest it came to the edge of an obstacle
+	 * @param minSteps Steps taken by the best Dot when it was run
+	 * @param keep Whether to remember the result, false to only count the miss
+	 */
+	void miss(long hash, Genomes genomes, int dot, double x, double y, int steps, boolean dead, boolean atGoal,
+			  boolean crashed, double clearance, int minSteps, boolean keep) {
+		misses++;
+		if (!keep)
+			return;
+		
+		Entry e;
+		int s = slotOf(hash);
+		if (slots[s] != 0) {
+			//same hash as an entry that no longer holds, replace it
+			e = entries[slots[s] - 1];
+			unlink(e.id);
+		} else {
+			int id;
+			if (count < capacity) {
+				id = count++;
+				if (entries[id] == null) {
+					entries[id] = new Entry();
+					entries[id].id = id;
+				}
+			} else {
+				id = oldest;
+				unlink(id);
+				removeKey(entries[id].hash);
+				evictions++;
+				s = slotOf(hash);
+			}
+			e = entries[id];
+			keys[s] = hash;
+			slots[s] = id + 1;
+		}
+		append(e.id);
+		
+		e.hash = hash;
+		if (e.genes == null || e.genes.length < steps * 2)
+			e.genes = new double[genomes.steps() * 2];
+		genomes.copyTo(dot, e.genes, steps);
+		e.x = x;
+		e.y = y;
+		e.steps = steps;
+		e.dead = dead;
+		e.atGoal = atGoal;
+		e.crashed = crashed;
+		e.clearance = clearance;
+		e.minSteps = minSteps;
+	}
+	
+	/**
+	 * Forget every entry, for when the space changes and old results no longer hold
+	 * The hit and miss counts are kept, and the entries are reused as the cache fills up again
+	 */
+	public void clear() {
+		Arrays.fill(slots, 0);
+		count = 0;
+		oldest = -1;
+		newest = -1;
+	}
+	
+	/**
+	 * Get the most entries kept at once
+	 * @return Capacity of the cache
+	 */
+	public int capacity() {
+		return capacity;
+	}
+	
+	/**
+	 * Get the number of entries in the cache
+	 * @return Number of genomes remembered
+	 */
+	public int size() {
+		return count;
+	}
+	
+	/**
+	 * Get the number of lookups answered from the cache
+	 * @return Number of hits
+	 */
+	public long hits() {
+		return hits;
+	}
+	
+	/**
+	 * Get the number of lookups that had to be simulated
+	 * @return Number of misses
+	 */
+	public long misses() {
+		return misses;
+	}
+	
+	/**
+	 * Get the number of entries dropped to make room
+	 * @return Number of evictions
+	 */
+	public long evictions() {
+		return evictions;
+	}
+	
+	/**
+	 * Get the share of lookups answered from the cache
+	 * @return Hit rate (0-1), 0 before any lookups
+	 */
+	public double hitRate() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+	
+	/**
+	 * Summarize the cache's use
+	 * @return One line with the hits, misses, hit rate and evictions
+	 */
+	public String report() {
+		return String.format("cache: %d hits %d misses (%.1f%% hit rate) %d evictions %d/%d entries%n",
+							 hits, misses, hitRate() * 100.0, evictions, size(), capacity);
+	}
+}
@@ -0,0 +1,36 @@
+/**
+ * FixedCountMutator
+ * Author: agent
+ * Created on: 18/10/2026
+ * Mutation of exactly the same number of steps of every Dot, each pointed in a new random direction
+ */
+
+package main;
+
+public class FixedCountMutator implements Mutator {
+	//Attributes
+	private int count;		//Number of steps mutated per Dot
+	
+	/**
+	 * Create a FixedCountMutator
+	 * @param count Number of steps mutated per Dot
+	 */
+	public FixedCountMutator(int count) {
+		this.count = Math.max(0, count);
+	}
+	
+	/**
+	 * Point count random steps of each Dot in new directions, a step can be drawn more than once
+	 * @param genomes Directions of every Dot
+	 * @param from Index of the first Dot to mutate
+	 * @param to Index after the last Dot to mutate
+	 * @param rand Random number generator of the calling chunk
+	 */
+	public void mutate(Genomes genomes, int from, int to, Rng rand) {
+		int steps = genomes.steps();
+		for (int i = from; i < to; i++) {
+			for (int m = 0; m < count; m++)
+				genomes.setAngle(i, rand.nextInt(steps), rand.nextAngle());
+		}
+	}
+}
@@ -0,0 +1,132 @@
+/**
+ * FrameSnapshot
+ * Author: agent
+ * Created on: 18/10/2026
+ * Copy of everything needed to draw a Population at one moment, handed from the simulation to the painter
+ */
+
+package main;
+
+import java.awt.Graphics2D;
+import java.util.List;
+
+public class FrameSnapshot {
+	//Attributes
+	private double[] xs;			//X position of each Dot
+	private double[] ys;			//Y position of each Dot
+	private boolean[] dead;			//Whether each Dot is dead
+	private boolean[] atGoal;		//Whether each Dot is at the goal
+	private int count;				//Number of Dots
+	private boolean champOnly;		//Whether to draw just the Champion
+	private Dot goal;				//Goal the Dots are trying to reach
+	private Dot[] obstacles;		//Obstacles in the way
+	private int gen;				//Generation number
+	private double accuracy;		//How accurate the evolved solution is
+	private double maxFitness;		//Highest fitness of the last generation
+	private int minSteps;			//Steps taken by the best Dot
+	
+	/**
+	 * Create an empty snapshot
+	 */
+	public FrameSnapshot() {
+		xs = new double[0];
+		ys = new double[0];
+		dead = new boolean[0];
+		atGoal = new boolean[0];
+		obstacles = new Dot[0];
+	}
+	
+	/**
+	 * Copy the Dots in, growing the arrays only if there are more Dots than before
+	 * @param xs X position of each Dot
+	 * @param ys Y position of each Dot
+	 * @param dead Whether each Dot is dead
+	 * @param atGoal Whether each Dot is at the goal
+	 * @param count Number of Dots
+	 * @param champOnly Whether to draw just the Champion
+	 * @param goal Goal the Dots are trying to reach
+	 * @param obstacles Obstacles in the way
+	 */
+	public void set(double[] xs, double[] ys, boolean[] dead, boolean[] atGoal, int count, boolean champOnly,
+					Dot goal, List<Dot> obstacles) {
+		if (this.xs.length < count) {
+			this.xs = new double[count];
+			this.ys = new double[count];
+			this.dead = new boolean[count];
+			this.atGoal = new boolean[count];
+		}
+		
+		//only the Champion is drawn, so only it needs copying
+		int copied = champOnly ? Math.min(1, count) : count;
+		System.arraycopy(xs, 0, this.xs, 0, copied);
+		System.arraycopy(ys, 0, this.ys, 0, copied);
+		System.arraycopy(dead, 0, this.dead, 0, copied);
+		System.arraycopy(atGoal, 0, this.atGoal, 0, copied);
+		this.count = count;
+		this.champOnly = champOnly;
+		this.goal = goal;
+		if (this.obstacles.length != obstacles.size())
+			this.obstacles = new Dot[obstacles.size()];
+		obstacles.toArray(this.obstacles);
+	}
+	
+	/**
+	 * Set the stats shown on screen
+	 * @param gen Generation number
+	 * @param accuracy How accurate the evolved solution is (0-1)
+	 * @param maxFitness Highest fitness of the last generation
+	 * @param minSteps Steps taken by the best Dot
+	 */
+	public void setStats(int gen, double accuracy, double maxFitness, int minSteps) {
+		this.gen = gen;
+		this.accuracy = accuracy;
+		this.maxFitness = maxFitness;
+		this.minSteps = minSteps;
+	}
+	
+	/**
+	 * Draw the goal, the obstacles and the Dots
+	 * @param g2 Drawing object, in Population coordinates
+	 * @param renderer Renderer owned by the drawing thread
+	 */
+	public void draw(Graphics2D g2, DotRenderer renderer) {
+		if (goal != null)
+			goal.draw(g2);
+		for (Dot o : obstacles)
+			o.draw(g2);
+		renderer.drawDots(xs, ys, dead, atGoal, count, champOnly);
+		g2.drawImage(renderer.image(), 0, 0, null);
+	}
+	
+	/**
+	 * Get the generation number
+	 * @return Generation number
+	 */
+	public int gen() {
+		return gen;
+	}
+	
+	/**
+	 * Get how accurate the evolved solution is
+	 * @return Accuracy (0-1)
+	 */
+	public double accuracy() {
+		return accuracy;
+	}
+	
+	/**
+	 * Get the highest fitness of the last generation
+	 * @return Highest fitness
+	 */
+	public double maxFitness() {
+		return maxFitness;
+	}
+	
+	/**
+	 * Get the steps taken by the best Dot
+	 * @return Steps taken by the best Dot
+	 */
+	public int minSteps() {
+		return minSteps;
+	}
+}
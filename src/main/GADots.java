@@ -8,41 +8,139 @@
 package main;
 
 import java.awt.Color;
+import java.awt.GraphicsEnvironment;
 import java.awt.Toolkit;
+import java.io.IOException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 public class GADots {
+	//Constants
+	static final int HEADLESS_SIDE = 960;	//Side length of the space when there is no screen
 	
 	/**
 	 * Create the environment and run the simulation
+	 * Pass -headless to run without a window, -threads n to evolve on n threads and -seed s to repeat a run
+	 * Pass -islands n with -headless to split the population into n islands that swap their best Dots
+	 * Pass -workers n with -headless to run the islands as separate processes, started locally unless
+	 * -listen host:port (or unix:path) is given for workers started elsewhere with main.IslandWorker
+	 * Pass -checkpoint file with -headless to save the run every -checkpointEvery n generations (default 10)
+	 * and -resume file to pick a saved run back up
+	 * Pass -metrics file.csv (or file.jsonl) to stream the results of every generation to a file
+	 * Pass -timing with -headless to print how long each phase of a generation took at the end
+	 * Pass -cache n to remember where up to n genomes ended up instead of running identical ones again
+	 * Pass -compact to store each step as a quantized angle in 2 bytes instead of a (dx,dy) pair in 16, or
+	 * -offheap to keep the (dx,dy) pairs outside the heap
+	 * Pass -record file to save the champion of every generation, and -replay file to watch the champions of a
+	 * recorded run again, choosing the generation with the arrow keys
+	 * Islands cannot be combined with -resume, -checkpoint, -metrics, -timing, -record or -threads, and workers
+	 * not with -cache, -compact or -offheap either; passing them together is an error rather than ignored
 	 */
 	public static void main(String[] args) {
-		// size of the window is half the screen width
-		int side = (int) (Toolkit.getDefaultToolkit().getScreenSize().width * 0.5);
+		//run without a window if asked to or if there is no display
+		boolean headless = GraphicsEnvironment.isHeadless() || Arrays.asList(args).contains("-headless");
 		
-		// create the window and the environment
-		Window w = new Window(side, side);
-		Environment env = new Environment(side, side);
+		//show a recorded run instead of evolving
+		String replay = stringArg(args, "-replay", null);
+		if (replay != null) {
+			if (headless) {
+				System.err.println("-replay needs a window");
+				System.exit(1);
+			}
+			replay(Paths.get(replay));
+			return;
+		}
+		
+		//turn down arguments the chosen mode would otherwise ignore
+		int numIslands = intArg(args, "-islands", 1);
+		int numWorkers = intArg(args, "-workers", 0);
+		if (!headless)
+			rejectArgs(args, "needs -headless", "-islands", "-workers", "-checkpoint", "-checkpointEvery", "-timing");
+		else if (numWorkers > 0)
+			rejectArgs(args, "cannot be used with -workers", "-islands", "-resume", "-checkpoint", "-checkpointEvery", 
+						"-metrics", "-timing", "-record", "-cache", "-compact", "-offheap", "-threads");
+		else if (numIslands > 1)
+			rejectArgs(args, "cannot be used with -islands", "-resume", "-checkpoint", "-checkpointEvery", "-metrics", 
+						"-timing", "-record", "-threads");
+		
+		// size of the window is half the screen width
+		int side = headless ? HEADLESS_SIDE : (int) (Toolkit.getDefaultToolkit().getScreenSize().width * 0.5);
 		
 		//goal for the dots to get to
-		Dot goal = new Dot((int) (side * 0.5), (int) (side * 0.8), Color.BLUE, 1);
-		goal.setRad(10);
+		Dot goal = goal(side);
 		
 		//start point
-		Vec start = new Vec(side/2, 100);
+		Vec start = start(side);
 		
 		//Create the population
 		int populationSize = 1000;
 		int stepsPerGen = 200;
-		Population p1 = new Population(populationSize, start, stepsPerGen, side, side, goal);
-		env.setPopulation(p1);
+		long seed = longArg(args, "-seed", Rng.randomSeed());
+		Genomes.Layout layout = Genomes.Layout.DOUBLES;
+		if (Arrays.asList(args).contains("-compact"))
+			layout = Genomes.Layout.ANGLES;
+		else if (Arrays.asList(args).contains("-offheap"))
+			layout = Genomes.Layout.OFF_HEAP;
+		String resume = stringArg(args, "-resume", null);
+		Population p1 = resume == null ? new Population(populationSize, start, stepsPerGen, side, side, goal, seed, 
+														layout) : loadCheckpoint(Paths.get(resume));
+		p1.setParallelism(intArg(args, "-threads", 1));
+		
+		int cacheSize = intArg(args, "-cache", 0);
+		p1.setFitnessCache(cacheSize);
+		
+		//The minimum possible steps can be determined geometrically, from the resumed space if resuming
+		int minPossibleSteps = p1.minPossibleSteps();
 		
-		//The minimum possible steps can be determined geometrically 
-		int minPossibleSteps = (int) Math.ceil(Vec.diff(goal, start).mag() / Dot.STEP_SIZE);
+		//Number of generations to run
+		int numGens = 100;
+		
+		//Split into islands of the same total size, each with its own seed
+		if (headless && numWorkers > 0) {
+			IslandCoordinator coord = new IslandCoordinator(populationSize / numWorkers, start, stepsPerGen, 
+															side, side, goal, seed);
+			runWorkers(coord, stringArg(args, "-listen", null), numWorkers, minPossibleSteps, numGens);
+			return;
+		}
+		
+		if (headless && numIslands > 1) {
+			Population[] islands = new Population[numIslands];
+			for (int i = 0; i < numIslands; i++) {
+				islands[i] = new Population(populationSize / numIslands, start, stepsPerGen, side, side, goal, 
+											Rng.streamSeed(seed, i), layout);
+				islands[i].setFitnessCache(cacheSize);
+			}
+			runIslands(new Archipelago(islands), minPossibleSteps, numGens);
+			return;
+		}
+		
+		//Record the champion of every generation
+		p1.setRecorder(openRecorder(stringArg(args, "-record", null), p1));
+		
+		if (headless) {
+			if (Arrays.asList(args).contains("-timing"))
+				p1.setTimer(new PhaseTimer());
+			String checkpoint = stringArg(args, "-checkpoint", null);
+			runHeadless(p1, minPossibleSteps, numGens, checkpoint == null ? null : Paths.get(checkpoint), 
+						intArg(args, "-checkpointEvery", 10), openMetrics(stringArg(args, "-metrics", null)));
+			p1.shutdown();
+			return;
+		}
+		
+		// create the window and the environment
+		Window w = new Window(side, side);
+		Environment env = new Environment(side, side);
+		env.setPopulation(p1);
 		env.setMinPossibleSteps(minPossibleSteps);
+		env.setMetrics(openMetrics(stringArg(args, "-metrics", null)));
 		
 		//Change end parameters (run until certain generation number, a certain accuracy if minPossibleSteps
 		//is known, etc.)
-		env.runUntilGen(100);
+		env.runUntilGen(numGens);
 //		env.runUntilAccuracy(0.9);
 		
 		//Show the champion only
@@ -55,7 +153,7 @@ public class GADots {
 		for (int i = 0; i < 15; i++) {
 			int x = (int) ((side - obstRad) * Math.random() + obstRad);
 			int y = (int) ((goal.y() - 200) * Math.random() + 200);
-			Dot obst = new Dot(x, y, Color.GRAY, 1);
+			Dot obst = new Dot(x, y, Color.GRAY);
 			obst.setRad(obstRad);
 			p2.addObstacle(obst);
 		}
@@ -67,4 +165,289 @@ public class GADots {
 		w.setEnvironment(env);
 		w.launch();
 	}
+	
+	/**
+	 * Get the integer following a flag in the arguments
+	 * @param args Command line arguments
+	 * @param flag Flag before the value
+	 * @param def Value to use if the flag is not there
+	 * @return Value after the flag, def if there is none
+	 */
+	private static int intArg(String[] args, String flag, int def) {
+		for (int i = 0; i < args.length - 1; i++) {
+			if (args[i].equals(flag))
+				return Integer.parseInt(args[i + 1]);
+		}
+		return def;
+	}
+	
+	/**
+	 * Get the long following a flag in the arguments
+	 * @param args Command line arguments
+	 * @param flag Flag before the value
+	 * @param def Value to use if the flag is not there
+	 * @return Value after the flag, def if there is none
+	 */
+	private static long longArg(String[] args, String flag, long def) {
+		for (int i = 0; i < args.length - 1; i++) {
+			if (args[i].equals(flag))
+				return Long.parseLong(args[i + 1]);
+		}
+		return def;
+	}
+	
+	/**
+	 * Get the string following a flag in the arguments
+	 * @param args Command line arguments
+	 * @param flag Flag before the value
+	 * @param def Value to use if the flag is not there
+	 * @return Value after the flag, def if there is none
+	 */
+	private static String stringArg(String[] args, String flag, String def) {
+		for (int i = 0; i < args.length - 1; i++) {
+			if (args[i].equals(flag))
+				return args[i + 1];
+		}
+		return def;
+	}
+	
+	/**
+	 * Create the goal for the Dots to get to
+	 * @param side Side length of the space
+	 * @return Goal centered across the space and most of the way down it
+	 */
+	static Dot goal(int side) {
+		Dot goal = new Dot((int) (side * 0.5), (int) (side * 0.8), Color.BLUE);
+		goal.setRad(10);
+		return goal;
+	}
+	
+	/**
+	 * Get the point the Dots start from
+	 * @param side Side length of the space
+	 * @return Start point centered across the top of the space
+	 */
+	static Vec start(int side) {
+		return new Vec(side/2, 100);
+	}
+	
+	/**
+	 * Stop with an error if any of the given arguments was passed
+	 * @param args Command line arguments
+	 * @param reason Why the arguments cannot be used, printed after the argument
+	 * @param flags Arguments to turn down
+	 */
+	private static void rejectArgs(String[] args, String reason, String... flags) {
+		for (String flag : flags) {
+			if (Arrays.asList(args).contains(flag)) {
+				System.err.println(flag + " " + reason);
+				System.exit(1);
+			}
+		}
+	}
+	
+	/**
+	 * Run the simulation without a window, printing the results of each generation
+	 * @param p Population to evolve
+	 * @param minPossibleSteps Minimum possible number of steps to reach the goal
+	 * @param numGens Number of generations to run
+	 * @param checkpoint File to save the run to, null to not save it
+	 * @param checkpointEvery Generations between saves
+	 * @param metrics Where to stream the results of each generation, null if nowhere
+	 */
+	private static void runHeadless(Population p, int minPossibleSteps, int numGens, Path checkpoint, 
+									int checkpointEvery, MetricsWriter metrics) {
+		System.out.println("seed: " + p.seed());
+		long t0 = System.nanoTime();
+		for (int i = 0; i < numGens; i++) {
+			p.runGeneration();
+			System.out.printf("gen: %d accuracy: %.2f%% maxFitness: %.6f minSteps: %d%n", 
+								p.gen() - 1, p.accuracy(minPossibleSteps) * 100.0, p.maxFitness(), p.minSteps());
+			if (metrics != null)
+				metrics.record(p, minPossibleSteps);
+			
+			if (checkpoint != null && (i + 1) % checkpointEvery == 0) {
+				try {
+					p.checkpoint(checkpoint);
+				} catch (IOException e) {
+					System.err.println("checkpoint failed: " + e.getMessage());
+				}
+			}
+		}
+		System.out.printf("%d generations in %.3f s%n", numGens, (System.nanoTime() - t0) * 1e-9);
+		if (p.timer() != null)
+			System.out.print(p.timer().report());
+		if (p.fitnessCache() != null)
+			System.out.print(p.fitnessCache().report());
+		
+		if (metrics != null) {
+			try {
+				metrics.close();
+			} catch (IOException e) {
+				System.err.println("metrics failed: " + e.getMessage());
+			}
+		}
+		if (p.recorder() != null) {
+			try {
+				p.recorder().close();
+			} catch (IOException e) {
+				System.err.println("recording failed: " + e.getMessage());
+			}
+		}
+	}
+	
+	/**
+	 * Start recording the champions of a Population to a file, exiting if it cannot be created
+	 * @param file Path of the file, null for none
+	 * @param p Population to record
+	 * @return Recorder writing the file, null if there is none
+	 */
+	private static RunRecorder openRecorder(String file, Population p) {
+		if (file == null)
+			return null;
+		try {
+			return new RunRecorder(Paths.get(file), p);
+		} catch (IOException e) {
+			System.err.println("cannot record to " + file + ": " + e.getMessage());
+			System.exit(1);
+			return null;
+		}
+	}
+	
+	/**
+	 * Open a window showing the champions of a recorded run, exiting if it cannot be read
+	 * @param file Recording written with -record
+	 */
+	private static void replay(Path file) {
+		try {
+			RunRecording rec = new RunRecording(file);
+			if (rec.lastGen() < rec.firstGen())
+				throw new IOException("no generations were recorded");
+			
+			Population champ = rec.replay(rec.lastGen());
+			int width = (int) champ.width();
+			int height = (int) champ.height();
+			Window w = new Window(width, height);
+			Environment env = new Environment(width, height);
+			env.setMinPossibleSteps(champ.minPossibleSteps());
+			env.setReplay(rec);
+			w.setEnvironment(env);
+			w.launch();
+		} catch (IOException e) {
+			System.err.println("cannot replay " + file + ": " + e.getMessage());
+			System.exit(1);
+		}
+	}
+	
+	/**
+	 * Open a file to stream the results of each generation to, exiting if it cannot be created
+	 * @param file Path of the file, null for none
+	 * @return Writer for the file, null if there is none
+	 */
+	private static MetricsWriter openMetrics(String file) {
+		if (file == null)
+			return null;
+		try {
+			return new MetricsWriter(Paths.get(file));
+		} catch (IOException e) {
+			System.err.println("cannot write metrics to " + file + ": " + e.getMessage());
+			System.exit(1);
+			return null;
+		}
+	}
+	
+	/**
+	 * Load a Population saved with Population.checkpoint(), exiting if it cannot be read
+	 * @param file Checkpoint to load
+	 * @return Saved Population
+	 */
+	private static Population loadCheckpoint(Path file) {
+		try {
+			return Population.resume(file);
+		} catch (IOException e) {
+			System.err.println("cannot resume from " + file + ": " + e.getMessage());
+			System.exit(1);
+			return null;
+		}
+	}
+	
+	/**
+	 * Run islands without a window, printing the best island after each migration
+	 * @param arch Islands to evolve
+	 * @param minPossibleSteps Minimum possible number of steps to reach the goal
+	 * @param numGens Number of generations to run each island for
+	 */
+	private static void runIslands(Archipelago arch, int minPossibleSteps, int numGens) {
+		int interval = 10;
+		arch.setMigrationInterval(interval);
+		long t0 = System.nanoTime();
+		for (int done = 0; done < numGens; done += interval) {
+			arch.run(Math.min(interval, numGens - done));
+			Population best = arch.best();
+			System.out.printf("gen: %d accuracy: %.2f%% maxFitness: %.6f minSteps: %d%n", 
+								best.gen() - 1, best.accuracy(minPossibleSteps) * 100.0, best.maxFitness(), best.minSteps());
+		}
+		System.out.printf("%d generations on %d islands in %.3f s%n", numGens, arch.islands().length, 
+							(System.nanoTime() - t0) * 1e-9);
+		arch.shutdown();
+	}
+	
+	/**
+	 * Run islands as worker processes, printing the best island of each generation
+	 * @param coord Coordinator of the islands
+	 * @param listen Address to wait for remote workers on, null to start local workers on a Unix socket
+	 * @param numWorkers Number of workers, one island each
+	 * @param minPossibleSteps Minimum possible number of steps to reach the goal
+	 * @param numGens Number of generations to run each island for
+	 */
+	private static void runWorkers(IslandCoordinator coord, String listen, int numWorkers, int minPossibleSteps, 
+									int numGens) {
+		Path socket = null;
+		ArrayList<Process> workers = new ArrayList<Process>();
+		try {
+			String address = listen;
+			if (address == null) {
+				socket = Files.createTempDirectory("gadots").resolve("islands.sock");
+				address = "unix:" + socket;
+			}
+			
+			try (ServerSocketChannel server = IslandLink.listen(address)) {
+				//start the workers on this machine with the same classpath
+				if (listen == null) {
+					String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+					for (int i = 0; i < numWorkers; i++) {
+						workers.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), 
+														IslandWorker.class.getName(), address).inheritIO().start());
+					}
+				} else {
+					System.out.println("waiting for " + numWorkers + " workers on " + address);
+				}
+				
+				long t0 = System.nanoTime();
+				coord.accept(server, numWorkers);
+				coord.run(numGens, minPossibleSteps);
+				coord.close();
+				System.out.printf("%d generations on %d workers in %.3f s%n", numGens, numWorkers, 
+									(System.nanoTime() - t0) * 1e-9);
+			}
+			
+			for (Process w : workers)
+				w.waitFor();
+		} catch (IOException e) {
+			System.err.println("islands failed: " + e.getMessage());
+			for (Process w : workers)
+				w.destroy();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			if (socket != null) {
+				try {
+					Files.deleteIfExists(socket);
+					Files.deleteIfExists(socket.getParent());
+				} catch (IOException e) {
+					//leave it for the OS to clean up
+				}
+			}
+		}
+	}
 }
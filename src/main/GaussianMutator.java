@@ -0,0 +1,34 @@
+/**
+ * GaussianMutator
+ * Author: agent
+ * Created on: 18/10/2026
+ * Mutation that turns a step by a normally distributed angle, fine-tuning a trajectory instead of breaking it
+ */
+
+package main;
+
+public class GaussianMutator extends SparseMutator {
+	//Attributes
+	private double sigma;		//Standard deviation of the turn in radians
+	
+	/**
+	 * Create a GaussianMutator
+	 * @param rate Chance of each step mutating (0-1)
+	 * @param sigma Standard deviation of the turn in radians
+	 */
+	public GaussianMutator(double rate, double sigma) {
+		super(rate);
+		this.sigma = sigma;
+	}
+	
+	/**
+	 * Turn a step by a random angle
+	 * @param genomes Directions of every Dot
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @param rand Random number generator of the calling chunk
+	 */
+	protected void mutateStep(Genomes genomes, int dot, int step, Rng rand) {
+		genomes.setAngle(dot, step, genomes.angle(dot, step) + sigma * rand.nextGaussian());
+	}
+}
@@ -0,0 +1,342 @@
+/**
+ * Genomes
+ * Author: agent
+ * Created on: 18/10/2026
+ * Directions of every Dot in a Population packed into one flat array, either as (dx,dy) pairs in
+ * DoubleGenomes or as quantized angles in AngleGenomes
+ */
+
+package main;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+public abstract class Genomes {
+	//Constants
+	protected static final long MAP_REGION = 1L << 30;	//Most bytes mapped at once, a multiple of 8
+	
+	/**
+	 * Ways of storing the steps
+	 */
+	public enum Layout {
+		DOUBLES,		//(dx,dy) pairs of doubles in a heap array, DoubleGenomes
+		ANGLES,			//Quantized angles in a heap array of shorts, AngleGenomes
+		OFF_HEAP		//(dx,dy) pairs of doubles in direct buffers outside the heap, OffHeapGenomes
+	}
+	
+	//Attributes
+	protected int size;				//Number of Dots
+	protected int steps;			//Number of steps per Dot
+	protected long[] hashes;		//Hash of each Dot's steps, kept up to date as steps are set, null when not hashing
+	
+	/**
+	 * Create a set of Genomes that does not keep hashes
+	 * @param size Number of Dots
+	 * @param steps Number of steps each Dot can take
+	 */
+	protected Genomes(int size, int steps) {
+		this.size = size;
+		this.steps = steps;
+	}
+	
+	/**
+	 * Create a set of Genomes
+	 * @param size Number of Dots
+	 * @param steps Number of steps each Dot can take
+	 * @param layout How to store the steps
+	 * @return Empty Genomes of the class for the layout
+	 */
+	public static Genomes create(int size, int steps, Layout layout) {
+		switch (layout) {
+			case ANGLES: return new AngleGenomes(size, steps);
+			case OFF_HEAP: return new OffHeapGenomes(size, steps);
+			default: return new DoubleGenomes(size, steps);
+		}
+	}
+	
+	/**
+	 * Get how the steps are stored
+	 * @return Layout of these Genomes
+	 */
+	public abstract Layout layout();
+	
+	/**
+	 * Get the number of Dots
+	 * @return Number of Dots
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Get the number of steps each Dot can take
+	 * @return Number of steps each Dot can take
+	 */
+	public int steps() {
+		return steps;
+	}
+	
+	/**
+	 * Get the x component of a step
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @return X component of the step
+	 */
+	public abstract double dx(int dot, int step);
+	
+	/**
+	 * Get the y component of a step
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @return Y component of the step
+	 */
+	public abstract double dy(int dot, int step);
+	
+	/**
+	 * Set a step
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @param dx X component of the step
+	 * @param dy Y component of the step
+	 */
+	public abstract void set(int dot, int step, double dx, double dy);
+	
+	/**
+	 * Get the angle of a step
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @return Angle of the step in radians, in [-PI, PI]
+	 */
+	public abstract double angle(int dot, int step);
+	
+	/**
+	 * Set a step from an angle
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @param angRad Angle of the step in radians
+	 */
+	public abstract void setAngle(int dot, int step, double angRad);
+	
+	/**
+	 * Fill a Dot's steps with random directions
+	 * @param dot Index of the Dot
+	 * @param rand Random number generator to draw the directions from
+	 */
+	public void randomize(int dot, Rng rand) {
+		for (int j = 0; j < steps; j++)
+			setAngle(dot, j, rand.nextAngle());
+	}
+	
+	/**
+	 * Copy a Dot's steps into another set of Genomes
+	 * @param from Index of the Dot to copy
+	 * @param dst Genomes to copy into
+	 * @param to Index of the Dot to copy into
+	 */
+	public abstract void copy(int from, Genomes dst, int to);
+	
+	/**
+	 * Copy a Dot's steps into Genomes stored another way, one step at a time
+	 * @param from Index of the Dot to copy
+	 * @param dst Genomes to copy into
+	 * @param to Index of the Dot to copy into
+	 */
+	protected void copySteps(int from, Genomes dst, int to) {
+		for (int j = 0; j < steps; j++)
+			dst.set(to, j, dx(from, j), dy(from, j));
+	}
+	
+	/**
+	 * Hash one step, 0 for a zero step so empty Genomes start with a hash of 0
+	 * A Dot's hash is the XOR of the hashes of its steps, so setting a step only has to swap its hash out
+	 * @param step Index of the step
+	 * @param a First half of the step's bits
+	 * @param b Second half of the step's bits
+	 * @return 64-bit hash of the step at that index
+	 */
+	protected static long mix(int step, long a, long b) {
+		long h = a * 0x9E3779B97F4A7C15L + b * 0xC2B2AE3D27D4EB4FL;
+		h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+		h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+		return (h ^ (h >>> 33)) * (2L * step + 1);
+	}
+	
+	/**
+	 * Hash a step as it is stored
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @return Hash of the step from mix
+	 */
+	protected abstract long stepHash(int dot, int step);
+	
+	/**
+	 * Work a Dot's hash out again from all of its steps, after they were filled in some other way than set
+	 * @param dot Index of the Dot
+	 */
+	protected void rehash(int dot) {
+		long h = 0;
+		for (int j = 0; j < steps; j++)
+			h ^= stepHash(dot, j);
+		hashes[dot] = h;
+	}
+	
+	/**
+	 * Set whether to keep every Dot's hash up to date as its steps are set
+	 * Only the fitness cache needs the hashes, so without it setting a step costs nothing extra
+	 * @param hashing Whether to keep the hashes, worked out from the steps when turned on
+	 */
+	public void setHashing(boolean hashing) {
+		if (!hashing) {
+			hashes = null;
+		} else if (hashes == null) {
+			hashes = new long[size];
+			rehashAll();
+		}
+	}
+	
+	/**
+	 * Work every Dot's hash out again, after the steps were all filled in some other way than set
+	 */
+	protected void rehashAll() {
+		if (hashes == null)
+			return;
+		for (int dot = 0; dot < size; dot++)
+			rehash(dot);
+	}
+	
+	/**
+	 * Give a Dot copied whole into other Genomes its hash, if they keep hashes
+	 * @param from Index of the Dot copied
+	 * @param dst Genomes it was copied into
+	 * @param to Index of the Dot it was copied into
+	 */
+	protected void copyHash(int from, Genomes dst, int to) {
+		if (dst.hashes == null)
+			return;
+		if (hashes == null)
+			dst.rehash(to);
+		else
+			dst.hashes[to] = hashes[from];
+	}
+	
+	/**
+	 * Get the hash of a Dot's steps, equal for equal steps and kept up to date so it costs nothing to get
+	 * @param dot Index of the Dot
+	 * @return 64-bit hash of the steps, only while hashing
+	 */
+	public long hash(int dot) {
+		return hashes[dot];
+	}
+	
+	/**
+	 * Check whether a Dot's first steps are the same as a copy made by copyTo
+	 * @param dot Index of the Dot
+	 * @param copy Steps to compare against, (dx,dy) per step
+	 * @param n Number of steps to compare
+	 * @return True if each of the first n steps is the same
+	 */
+	public boolean matches(int dot, double[] copy, int n) {
+		for (int j = 0; j < n; j++) {
+			if (dx(dot, j) != copy[2 * j] || dy(dot, j) != copy[2 * j + 1])
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Check whether two Dots have the same directions at every step
+	 * @param a Index of one Dot
+	 * @param b Index of the other Dot
+	 * @return True if every step is the same
+	 */
+	public boolean sameSteps(int a, int b) {
+		for (int j = 0; j < steps(); j++) {
+			if (dx(a, j) != dx(b, j) || dy(a, j) != dy(b, j))
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Copy a Dot's first steps out as (dx,dy) per step
+	 * @param dot Index of the Dot
+	 * @param copy Array of at least 2 * n doubles to copy into
+	 * @param n Number of steps to copy
+	 */
+	public void copyTo(int dot, double[] copy, int n) {
+		for (int j = 0; j < n; j++) {
+			copy[2 * j] = dx(dot, j);
+			copy[2 * j + 1] = dy(dot, j);
+		}
+	}
+	
+	/**
+	 * Write a Dot's steps into a buffer as raw doubles, (dx,dy) per step, whichever way they are stored
+	 * @param dot Index of the Dot
+	 * @param buf Buffer to write to, advanced past the steps
+	 */
+	public void write(int dot, ByteBuffer buf) {
+		for (int j = 0; j < steps; j++) {
+			buf.putDouble(dx(dot, j));
+			buf.putDouble(dy(dot, j));
+		}
+	}
+	
+	/**
+	 * Read a Dot's steps from a buffer written by write()
+	 * @param buf Buffer to read from, advanced past the steps
+	 * @param dot Index of the Dot
+	 */
+	public void read(ByteBuffer buf, int dot) {
+		for (int j = 0; j < steps; j++)
+			set(dot, j, buf.getDouble(), buf.getDouble());
+	}
+	
+	/**
+	 * Get the number of bytes write() takes for one Dot
+	 * @return Number of bytes per Dot
+	 */
+	public int bytesPerDot() {
+		return steps * 2 * Double.BYTES;
+	}
+	
+	/**
+	 * Copy every Dot's steps into a file through memory-mapped regions, the way they are stored, and write
+	 * them out to the disk before returning
+	 * @param ch File to write to, grown if needed
+	 * @param pos Position in the file to start at
+	 * @throws IOException If the file cannot be mapped
+	 */
+	public abstract void save(FileChannel ch, long pos) throws IOException;
+	
+	/**
+	 * Copy every Dot's steps from a file written by save() on Genomes stored the same way
+	 * @param ch File to read from
+	 * @param pos Position in the file to start at
+	 * @throws IOException If the file cannot be mapped or is too short
+	 */
+	public abstract void load(FileChannel ch, long pos) throws IOException;
+	
+	/**
+	 * Get a Dot's steps as vectors
+	 * @param dot Index of the Dot
+	 * @return Array of directions the Dot will take
+	 */
+	public Vec[] toVecs(int dot) {
+		Vec[] dirs = new Vec[steps];
+		for (int j = 0; j < steps; j++)
+			dirs[j] = new Vec(dx(dot, j), dy(dot, j));
+		return dirs;
+	}
+	
+	/**
+	 * Set a Dot's steps from vectors
+	 * @param dot Index of the Dot
+	 * @param dirs Directions to take, must have one per step
+	 */
+	public void setVecs(int dot, Vec[] dirs) {
+		for (int j = 0; j < steps; j++)
+			set(dot, j, dirs[j].x(), dirs[j].y());
+	}
+}
@@ -0,0 +1,209 @@
+/**
+ * IslandCoordinator
+ * Author: agent
+ * Created on: 18/10/2026
+ * Hands out islands to worker processes, collects their results and passes migrants around a ring
+ */
+
+package main;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.util.ArrayList;
+
+public class IslandCoordinator implements Closeable {
+	//Attributes
+	private int islandSize;					//Number of Dots on each island
+	private Vec start;						//Starting point of the Dots
+	private int steps;						//Number of steps each Dot can take
+	private int width;						//Width of the space in pixels
+	private int height;						//Height of the space in pixels
+	private Dot goal;						//Goal for the Dots to reach
+	private long seed;						//Master seed, each island gets a stream of it
+	private ArrayList<Dot> obstacles;		//Obstacles on every island
+	private int migrationInterval;			//Generations run between migrations
+	private int migrants;					//Number of Dots each island sends out
+	private IslandLink[] links;				//Connection to each worker
+	private Genomes[] emigrants;			//Best Dots each island sent out
+	private int[] numEmigrants;				//Number of Dots each island sent out
+	
+	/**
+	 * Create a coordinator, with the same parameters as a Population for each island
+	 * @param islandSize Number of Dots on each island
+	 * @param start Starting point of the Dots
+	 * @param steps Number of steps each Dot can take
+	 * @param width Width of the space in pixels
+	 * @param height Height of the space in pixels
+	 * @param goal Goal for the Dots to reach
+	 * @param seed Master seed, island i is seeded with Rng.streamSeed(seed, i)
+	 */
+	public IslandCoordinator(int islandSize, Vec start, int steps, int width, int height, Dot goal, long seed) {
+		this.islandSize = islandSize;
+		this.start = start;
+		this.steps = steps;
+		this.width = width;
+		this.height = height;
+		this.goal = goal;
+		this.seed = seed;
+		this.obstacles = new ArrayList<Dot>();
+		this.migrationInterval = 10;
+		this.migrants = 2;
+		this.links = new IslandLink[0];
+	}
+	
+	/**
+	 * Add an obstacle to every island
+	 * @param d Obstacle to add
+	 */
+	public void addObstacle(Dot d) {
+		obstacles.add(d);
+	}
+	
+	/**
+	 * Set how many generations run between migrations
+	 * @param migrationInterval Generations between migrations
+	 */
+	public void setMigrationInterval(int migrationInterval) {
+		this.migrationInterval = Math.max(1, migrationInterval);
+	}
+	
+	/**
+	 * Set how many of its best Dots each island sends out at a migration
+	 * @param migrants Number of Dots sent out per island
+	 */
+	public void setMigrants(int migrants) {
+		this.migrants = Math.max(0, migrants);
+	}
+	
+	/**
+	 * Wait for workers to connect, one island each
+	 * @param server Channel the workers connect to
+	 * @param numWorkers Number of workers to wait for
+	 * @throws IOException If accepting fails
+	 */
+	public void accept(ServerSocketChannel server, int numWorkers) throws IOException {
+		links = new IslandLink[numWorkers];
+		for (int i = 0; i < numWorkers; i++)
+			links[i] = IslandLink.accept(server);
+	}
+	
+	/**
+	 * Run every island for a number of generations, printing the best island of each generation
+	 * @param numGens Number of generations to run each island for
+	 * @param minPossibleSteps Minimum possible number of steps to reach the goal
+	 * @throws IOException If a worker fails
+	 */
+	public void run(int numGens, int minPossibleSteps) throws IOException {
+		for (int i = 0; i < links.length; i++)
+			sendConfig(i, numGens);
+		
+		emigrants = new Genomes[links.length];
+		numEmigrants = new int[links.length];
+		for (int i = 0; i < links.length; i++)
+			emigrants[i] = new DoubleGenomes(migrants, steps);
+		
+		//best island of each generation in the epoch
+		double[] bestFitness = new double[migrationInterval];
+		int[] bestSteps = new int[migrationInterval];
+		int[] bestIsland = new int[migrationInterval];
+		
+		int done = 0;
+		while (done < numGens) {
+			int epoch = Math.min(migrationInterval, numGens - done);
+			for (int g = 0; g < epoch; g++) {
+				bestFitness[g] = Double.NEGATIVE_INFINITY;
+				bestSteps[g] = Integer.MAX_VALUE;
+			}
+			
+			//the workers ran in parallel, so their stats have been queueing up
+			for (int i = 0; i < links.length; i++) {
+				for (int g = 0; g < epoch; g++) {
+					ByteBuffer stats = links[i].expect(IslandLink.STATS);
+					int island = stats.getInt();
+					stats.getInt();
+					double maxFitness = stats.getDouble();
+					stats.getDouble();
+					int minSteps = stats.getInt();
+					if (minSteps < bestSteps[g] || (minSteps == bestSteps[g] && maxFitness > bestFitness[g])) {
+						bestSteps[g] = minSteps;
+						bestFitness[g] = maxFitness;
+						bestIsland[g] = island;
+					}
+				}
+			}
+			
+			for (int g = 0; g < epoch; g++) {
+				double acc = bestSteps[g] == steps ? 0 : (double) minPossibleSteps / bestSteps[g];
+				System.out.printf("gen: %d accuracy: %.2f%% maxFitness: %.6f minSteps: %d island: %d%n",
+									done + g + 1, acc * 100.0, bestFitness[g], bestSteps[g], bestIsland[g]);
+			}
+			done += epoch;
+			
+			if (done < numGens)
+				migrate();
+		}
+	}
+	
+	/**
+	 * Collect every island's best Dots, then send each island the ones from the island before it
+	 * @throws IOException If a worker fails
+	 */
+	private void migrate() throws IOException {
+		for (int i = 0; i < links.length; i++)
+			numEmigrants[i] = IslandLink.readMigrants(links[i].expect(IslandLink.MIGRANTS), emigrants[i]);
+		
+		for (int i = 0; i < links.length; i++) {
+			int from = (i + links.length - 1) % links.length;
+			links[i].sendMigrants(emigrants[from], numEmigrants[from]);
+		}
+	}
+	
+	/**
+	 * Send an island its parameters
+	 * @param i Index of the island
+	 * @param numGens Number of generations to run
+	 * @throws IOException If the worker fails
+	 */
+	private void sendConfig(int i, int numGens) throws IOException {
+		int circleBytes = 2 * Double.BYTES + Integer.BYTES;
+		ByteBuffer buf = links[i].begin(IslandLink.CONFIG, 128 + obstacles.size() * circleBytes);
+		buf.putInt(i);
+		buf.putLong(Rng.streamSeed(seed, i));
+		buf.putInt(islandSize);
+		buf.putInt(steps);
+		buf.putInt(width);
+		buf.putInt(height);
+		buf.putDouble(start.x());
+		buf.putDouble(start.y());
+		putCircle(buf, goal);
+		buf.putInt(migrationInterval);
+		buf.putInt(migrants);
+		buf.putInt(numGens);
+		buf.putInt(obstacles.size());
+		for (Dot o : obstacles)
+			putCircle(buf, o);
+		links[i].send();
+	}
+	
+	/**
+	 * Write a circle as (x, y, radius)
+	 * @param buf Buffer to write to
+	 * @param d Circle to write
+	 */
+	private static void putCircle(ByteBuffer buf, Dot d) {
+		buf.putDouble(d.x());
+		buf.putDouble(d.y());
+		buf.putInt(d.rad());
+	}
+	
+	/**
+	 * Close the connections to the workers
+	 * @throws IOException If closing fails
+	 */
+	public void close() throws IOException {
+		for (IslandLink link : links)
+			link.close();
+	}
+}
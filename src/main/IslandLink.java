@@ -0,0 +1,225 @@
+/**
+ * IslandLink
+ * Author: agent
+ * Created on: 18/10/2026
+ * Connection between an island worker process and the coordinator, sending small binary messages
+ * Each message is a 4 byte payload length, a 1 byte type and the payload, all big-endian
+ */
+
+package main;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+public class IslandLink implements Closeable {
+	//Message types
+	public static final byte CONFIG = 1;		//Coordinator to worker: parameters of the island
+	public static final byte STATS = 2;			//Worker to coordinator: results of a generation
+	public static final byte MIGRANTS = 3;		//Both ways: directions of migrating Dots
+	
+	//Constants
+	private static final int HEADER = Integer.BYTES + 1;	//Length and type before each payload
+	private static final String UNIX_PREFIX = "unix:";		//Start of a Unix domain socket address
+	
+	//Attributes
+	private SocketChannel channel;		//Connection to the other end
+	private ByteBuffer out;				//Message being written
+	private ByteBuffer in;				//Last message received
+	
+	/**
+	 * Create a link over a connected channel
+	 * @param channel Connected channel
+	 */
+	private IslandLink(SocketChannel channel) {
+		this.channel = channel;
+		this.out = ByteBuffer.allocateDirect(1 << 16);
+		this.in = ByteBuffer.allocateDirect(1 << 16);
+	}
+	
+	/**
+	 * Turn an address string into a socket address
+	 * @param address "unix:/path/to/socket" for a Unix domain socket, otherwise "host:port" for TCP
+	 * @return Socket address
+	 */
+	public static SocketAddress parseAddress(String address) {
+		if (address.startsWith(UNIX_PREFIX))
+			return UnixDomainSocketAddress.of(address.substring(UNIX_PREFIX.length()));
+		
+		int colon = address.lastIndexOf(':');
+		if (colon < 0)
+			throw new IllegalArgumentException("Address must be host:port or unix:path, got " + address);
+		return new InetSocketAddress(address.substring(0, colon), Integer.parseInt(address.substring(colon + 1)));
+	}
+	
+	/**
+	 * Start listening for workers
+	 * @param address Address to listen on, see parseAddress()
+	 * @return Listening channel
+	 * @throws IOException If the address cannot be bound
+	 */
+	public static ServerSocketChannel listen(String address) throws IOException {
+		SocketAddress addr = parseAddress(address);
+		ServerSocketChannel server = addr instanceof UnixDomainSocketAddress ?
+										ServerSocketChannel.open(StandardProtocolFamily.UNIX) : ServerSocketChannel.open();
+		server.bind(addr);
+		return server;
+	}
+	
+	/**
+	 * Wait for a worker to connect
+	 * @param server Listening channel
+	 * @return Link to the worker
+	 * @throws IOException If accepting fails
+	 */
+	public static IslandLink accept(ServerSocketChannel server) throws IOException {
+		return new IslandLink(configure(server.accept()));
+	}
+	
+	/**
+	 * Connect to a coordinator
+	 * @param address Address of the coordinator, see parseAddress()
+	 * @return Link to the coordinator
+	 * @throws IOException If the connection fails
+	 */
+	public static IslandLink connect(String address) throws IOException {
+		return new IslandLink(configure(SocketChannel.open(parseAddress(address))));
+	}
+	
+	/**
+	 * Turn off Nagle's algorithm on TCP so small stats messages are not held back
+	 * @param channel Connected channel
+	 * @return The same channel
+	 * @throws IOException If the option cannot be set
+	 */
+	private static SocketChannel configure(SocketChannel channel) throws IOException {
+		if (!(channel.getLocalAddress() instanceof UnixDomainSocketAddress))
+			channel.socket().setTcpNoDelay(true);
+		return channel;
+	}
+	
+	/**
+	 * Start writing a message
+	 * @param type Type of the message
+	 * @param payloadBytes Most bytes the payload will take
+	 * @return Buffer to put the payload into
+	 */
+	public ByteBuffer begin(byte type, int payloadBytes) {
+		if (out.capacity() < HEADER + payloadBytes)
+			out = ByteBuffer.allocateDirect(HEADER + payloadBytes);
+		out.clear();
+		out.putInt(0);
+		out.put(type);
+		return out;
+	}
+	
+	/**
+	 * Send the message started by begin()
+	 * @throws IOException If the connection fails
+	 */
+	public void send() throws IOException {
+		out.putInt(0, out.position() - HEADER);
+		out.flip();
+		while (out.hasRemaining())
+			channel.write(out);
+	}
+	
+	/**
+	 * Wait for the next message
+	 * @return Type of the message, its payload is in payload()
+	 * @throws IOException If the connection fails or is closed
+	 */
+	public byte receive() throws IOException {
+		in.clear().limit(HEADER);
+		readFully();
+		int length = in.getInt(0);
+		byte type = in.get(Integer.BYTES);
+		
+		if (in.capacity() < length)
+			in = ByteBuffer.allocateDirect(length);
+		in.clear().limit(length);
+		readFully();
+		in.flip();
+		return type;
+	}
+	
+	/**
+	 * Wait for a message of a given type
+	 * @param type Type of message expected
+	 * @return Payload of the message
+	 * @throws IOException If the connection fails or another type of message arrives
+	 */
+	public ByteBuffer expect(byte type) throws IOException {
+		byte got = receive();
+		if (got != type)
+			throw new IOException("Expected message " + type + " but got " + got);
+		return in;
+	}
+	
+	/**
+	 * Get the payload of the last message received
+	 * @return Payload, positioned at its start
+	 */
+	public ByteBuffer payload() {
+		return in;
+	}
+	
+	/**
+	 * Read until the input buffer is full
+	 * @throws IOException If the connection fails or is closed
+	 */
+	private void readFully() throws IOException {
+		while (in.hasRemaining()) {
+			if (channel.read(in) < 0)
+				throw new EOFException("Connection closed");
+		}
+	}
+	
+	/**
+	 * Write the payload of a MIGRANTS message
+	 * @param genomes Genomes of the migrants
+	 * @param count Number of migrants, from the start of genomes
+	 * @throws IOException If the connection fails
+	 */
+	public void sendMigrants(Genomes genomes, int count) throws IOException {
+		ByteBuffer buf = begin(MIGRANTS, 2 * Integer.BYTES + count * genomes.bytesPerDot());
+		buf.putInt(count);
+		buf.putInt(genomes.steps());
+		for (int m = 0; m < count; m++)
+			genomes.write(m, buf);
+		send();
+	}
+	
+	/**
+	 * Read the payload of a MIGRANTS message
+	 * @param buf Payload of the message
+	 * @param genomes Genomes to read the migrants into, from the start
+	 * @return Number of migrants read
+	 * @throws IOException If the migrants do not fit
+	 */
+	public static int readMigrants(ByteBuffer buf, Genomes genomes) throws IOException {
+		int count = buf.getInt();
+		int steps = buf.getInt();
+		if (steps != genomes.steps() || count > genomes.size())
+			throw new IOException("Got " + count + " migrants of " + steps + " steps, expected at most " +
+									genomes.size() + " of " + genomes.steps());
+		for (int m = 0; m < count; m++)
+			genomes.read(buf, m);
+		return count;
+	}
+	
+	/**
+	 * Close the connection
+	 * @throws IOException If closing fails
+	 */
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,106 @@
+/**
+ * IslandWorker
+ * Author: agent
+ * Created on: 18/10/2026
+ * Separate process evolving one island, reporting to and swapping migrants through a coordinator
+ * Run with: java -cp gadots.jar main.IslandWorker host:port (or unix:/path/to/socket)
+ */
+
+package main;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class IslandWorker {
+	
+	/**
+	 * Connect to a coordinator and evolve the island it describes
+	 * @param args Address of the coordinator
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.err.println("usage: IslandWorker host:port | unix:path");
+			System.exit(1);
+		}
+		
+		try (IslandLink link = IslandLink.connect(args[0])) {
+			run(link);
+		}
+	}
+	
+	/**
+	 * Read the island's parameters from the coordinator, then evolve it
+	 * Sends STATS after every generation and MIGRANTS after every epoch, then waits for MIGRANTS back
+	 * @param link Link to the coordinator
+	 * @throws IOException If the connection fails
+	 */
+	public static void run(IslandLink link) throws IOException {
+		ByteBuffer config = link.expect(IslandLink.CONFIG);
+		int island = config.getInt();
+		long seed = config.getLong();
+		int size = config.getInt();
+		int steps = config.getInt();
+		int width = config.getInt();
+		int height = config.getInt();
+		Vec start = new Vec(config.getDouble(), config.getDouble());
+		Dot goal = readCircle(config, Color.BLUE);
+		int migrationInterval = config.getInt();
+		int migrants = config.getInt();
+		int numGens = config.getInt();
+		
+		Population p = new Population(size, start, steps, width, height, goal, seed);
+		int numObstacles = config.getInt();
+		for (int k = 0; k < numObstacles; k++)
+			p.addObstacle(readCircle(config, Color.GRAY));
+		
+		Genomes emigrants = p.createGenomes(migrants);
+		Genomes immigrants = p.createGenomes(migrants);
+		int done = 0;
+		while (done < numGens) {
+			int epoch = Math.min(migrationInterval, numGens - done);
+			for (int g = 0; g < epoch; g++) {
+				p.runGeneration();
+				sendStats(link, island, p);
+			}
+			done += epoch;
+			
+			//swap migrants through the coordinator, except after the last epoch
+			if (done < numGens) {
+				link.sendMigrants(emigrants, p.exportElite(migrants, emigrants));
+				int count = IslandLink.readMigrants(link.expect(IslandLink.MIGRANTS), immigrants);
+				p.importMigrants(immigrants, count);
+			}
+		}
+		p.shutdown();
+	}
+	
+	/**
+	 * Read a circle written as (x, y, radius)
+	 * @param buf Buffer to read from
+	 * @param color Color of the circle
+	 * @return Circle as a Dot with no steps
+	 */
+	private static Dot readCircle(ByteBuffer buf, Color color) {
+		Dot d = new Dot(buf.getDouble(), buf.getDouble(), color);
+		d.setRad(buf.getInt());
+		return d;
+	}
+	
+	/**
+	 * Send the results of the last generation
+	 * @param link Link to the coordinator
+	 * @param island Index of this island
+	 * @param p Population of the island
+	 * @throws IOException If the connection fails
+	 */
+	private static void sendStats(IslandLink link, int island, Population p) throws IOException {
+		ByteBuffer buf = link.begin(IslandLink.STATS, 3 * Integer.BYTES + 2 * Double.BYTES);
+		buf.putInt(island);
+		buf.putInt(p.gen() - 1);
+		buf.putDouble(p.maxFitness());
+		buf.putDouble(p.fitnessSum());
+		buf.putInt(p.minSteps());
+		link.send();
+	}
+}
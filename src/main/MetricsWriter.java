@@ -0,0 +1,213 @@
+/**
+ * MetricsWriter
+ * Author: agent
+ * Created on: 18/10/2026
+ * Streams the results of every generation to a CSV or JSONL file from a background thread
+ */
+
+package main;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class MetricsWriter implements Closeable {
+	//Constants
+	private static final int BATCH_SIZE = 256;					//Generations recorded before handing a batch off
+	private static final long MAX_BATCH_AGE = 1_000_000_000L;	//Age at which a batch is handed off in ns
+	private static final long POLL_INTERVAL = MAX_BATCH_AGE / 4;	//Time between checks for a stalled batch in ns
+	private static final String CSV_HEADER = "gen,maxFitness,fitnessSum,minSteps,accuracy,alive,atGoal,wallTime";
+	
+	//Attributes
+	private boolean jsonLines;						//Whether to write JSONL instead of CSV
+	private BufferedWriter out;						//File being written, only touched by the writer thread
+	private Thread thread;							//Formats and writes the batches
+	private LinkedBlockingQueue<Batch> full;		//Batches waiting to be written
+	private ConcurrentLinkedQueue<Batch> free;		//Written batches ready to be filled again
+	private Batch current;							//Batch being filled, guarded by this writer
+	private long t0;								//Time the writer was created in ns
+	private IOException error;						//First error the writer thread hit, reported on close
+	private boolean closed;							//Whether close() was called, guarded by this writer
+	
+	/**
+	 * Results of a run of generations, stored column by column so recording one allocates nothing
+	 */
+	private static class Batch {
+		int count;							//Number of generations in the batch
+		long firstAt;						//Time the first generation was recorded in ns
+		boolean last;						//Whether this is the end of the stream
+		int[] gen = new int[BATCH_SIZE];
+		double[] maxFitness = new double[BATCH_SIZE];
+		double[] fitnessSum = new double[BATCH_SIZE];
+		int[] minSteps = new int[BATCH_SIZE];
+		double[] accuracy = new double[BATCH_SIZE];
+		int[] alive = new int[BATCH_SIZE];
+		int[] atGoal = new int[BATCH_SIZE];
+		long[] wallTime = new long[BATCH_SIZE];
+	}
+	
+	/**
+	 * Open a file to stream generations to
+	 * @param file File to write, JSONL if it ends in .jsonl or .json, otherwise CSV
+	 * @throws IOException If the file cannot be created
+	 */
+	public MetricsWriter(Path file) throws IOException {
+		String name = file.getFileName().toString();
+		this.jsonLines = name.endsWith(".jsonl") || name.endsWith(".json");
+		this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+		this.full = new LinkedBlockingQueue<Batch>();
+		this.free = new ConcurrentLinkedQueue<Batch>();
+		this.current = new Batch();
+		this.t0 = System.nanoTime();
+		
+		if (!jsonLines) {
+			out.write(CSV_HEADER);
+			out.newLine();
+		}
+		
+		thread = new Thread(this::drain, "metrics-writer");
+		thread.setDaemon(true);
+		thread.start();
+	}
+	
+	/**
+	 * Record the generation that just finished, call right after nextGeneration() or runGeneration()
+	 * Never waits on the file, the batch is handed to the writer thread when it is full or getting old.
+	 * Does nothing once the writer is closed.
+	 * @param p Population that finished a generation
+	 * @param minPossibleSteps Minimum possible number of steps to reach the goal
+	 */
+	public synchronized void record(Population p, int minPossibleSteps) {
+		if (closed)
+			return;
+		long now = System.nanoTime();
+		Batch b = current;
+		int k = b.count;
+		if (k == 0)
+			b.firstAt = now;
+		b.gen[k] = p.gen() - 1;
+		b.maxFitness[k] = p.maxFitness();
+		b.fitnessSum[k] = p.fitnessSum();
+		b.minSteps[k] = p.minSteps();
+		b.accuracy[k] = p.accuracy(minPossibleSteps);
+		b.alive[k] = p.aliveCount();
+		b.atGoal[k] = p.atGoalCount();
+		b.wallTime[k] = now - t0;
+		b.count++;
+		
+		if (b.count == BATCH_SIZE || now - b.firstAt >= MAX_BATCH_AGE)
+			handOff();
+	}
+	
+	/**
+	 * Hand off the current batch if it has been waiting too long, so the last generations of a run that
+	 * stopped recording still reach the file
+	 */
+	private synchronized void handOffIfOld() {
+		if (!closed && current.count > 0 && System.nanoTime() - current.firstAt >= MAX_BATCH_AGE)
+			handOff();
+	}
+	
+	/**
+	 * Give the current batch to the writer thread and start filling a new one, holding this writer's lock
+	 */
+	private void handOff() {
+		full.offer(current);
+		Batch next = free.poll();
+		current = next == null ? new Batch() : next;
+		current.count = 0;
+	}
+	
+	/**
+	 * Write batches as they arrive until the last one, taking the one being filled if it gets old in between
+	 */
+	private void drain() {
+		try {
+			StringBuilder sb = new StringBuilder(BATCH_SIZE * 128);
+			while (true) {
+				Batch b = full.poll(POLL_INTERVAL, TimeUnit.NANOSECONDS);
+				if (b == null) {
+					handOffIfOld();
+					continue;
+				}
+				sb.setLength(0);
+				for (int k = 0; k < b.count; k++)
+					format(sb, b, k);
+				if (error == null) {
+					try {
+						out.append(sb);
+						out.flush();
+					} catch (IOException e) {
+						error = e;
+					}
+				}
+				if (b.last)
+					return;
+				free.offer(b);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Format one generation as a line of the file
+	 * @param sb Builder to append to
+	 * @param b Batch holding the generation
+	 * @param k Index of the generation in the batch
+	 */
+	private void format(StringBuilder sb, Batch b, int k) {
+		double wall = b.wallTime[k] * 1e-9;
+		if (jsonLines) {
+			sb.append(String.format(Locale.ROOT,
+					"{\"gen\":%d,\"maxFitness\":%s,\"fitnessSum\":%s,\"minSteps\":%d,\"accuracy\":%s," +
+					"\"alive\":%d,\"atGoal\":%d,\"wallTime\":%.6f}%n",
+					b.gen[k], json(b.maxFitness[k]), json(b.fitnessSum[k]), b.minSteps[k], json(b.accuracy[k]),
+					b.alive[k], b.atGoal[k], wall));
+		} else {
+			sb.append(String.format(Locale.ROOT, "%d,%s,%s,%d,%s,%d,%d,%.6f%n",
+					b.gen[k], b.maxFitness[k], b.fitnessSum[k], b.minSteps[k], b.accuracy[k],
+					b.alive[k], b.atGoal[k], wall));
+		}
+	}
+	
+	/**
+	 * Format a number as a JSON value
+	 * @param v Number to format
+	 * @return Number as text, null if it is infinite or NaN since JSON has no way to write those
+	 */
+	private static String json(double v) {
+		return Double.isFinite(v) ? Double.toString(v) : "null";
+	}
+	
+	/**
+	 * Write out everything recorded so far and close the file
+	 * Call from the thread that records the generations
+	 * @throws IOException If writing failed at any point
+	 */
+	public void close() throws IOException {
+		synchronized (this) {
+			if (closed)
+				return;
+			closed = true;
+			current.last = true;
+			full.offer(current);
+			current = null;
+		}
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		out.close();
+		if (error != null)
+			throw error;
+	}
+}
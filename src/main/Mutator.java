@@ -0,0 +1,20 @@
+/**
+ * Mutator
+ * Author: agent
+ * Created on: 18/10/2026
+ * Strategy for mutating the directions of a new generation
+ */
+
+package main;
+
+public interface Mutator {
+	
+	/**
+	 * Mutate a range of Dots in place, must be safe to call from several threads on different ranges
+	 * @param genomes Directions of every Dot
+	 * @param from Index of the first Dot to mutate
+	 * @param to Index after the last Dot to mutate
+	 * @param rand Random number generator of the calling chunk
+	 */
+	void mutate(Genomes genomes, int from, int to, Rng rand);
+}
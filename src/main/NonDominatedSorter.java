@@ -0,0 +1,364 @@
+/**
+ * NonDominatedSorter
+ * Author: agent
+ * Created on: 18/10/2026
+ * Ranks Dots into Pareto fronts and measures how crowded each one is, as in NSGA-II
+ */
+
+package main;
+
+import java.util.Arrays;
+
+public class NonDominatedSorter {
+	//Attributes
+	private int[] ranks;			//Front each Dot is in, 0 is the best
+	private double[] crowding;		//Crowding distance of each Dot within its front
+	private int numFronts;			//Number of fronts found in the last sort
+	private int[] order;			//Dots in lexicographic order of their objectives
+	private int[] frontStarts;		//Index into frontMembers where each front starts
+	private int[] frontMembers;		//Dots grouped by front, in lexicographic order within a front
+	private int[] frontSizes;		//Number of Dots in each front
+	private int[] frontHeads;		//Last Dot added to each front
+	private int[] nextInFront;		//Dot added to the same front before each Dot, -1 if none
+	private int[] temp;				//Scratch space for sorting
+	private Staircase[] staircases;	//Non-dominated (obj1, obj2) steps of each front, kept between sorts
+	
+	/**
+	 * Steps of a front that are not beaten on both obj1 and obj2, sorted by obj1 with obj2 going down
+	 * Kept in primitive arrays that are reused from sort to sort
+	 */
+	private static class Staircase {
+		double[] keys = new double[8];		//obj1 of each step, ascending
+		int[] dots = new int[8];			//Dot on each step
+		int size;							//Number of steps
+		
+		/**
+		 * Find the step at or below a value of obj1
+		 * @param key Value of obj1
+		 * @return Index of the last step with obj1 no more than key, -1 if there is none
+		 */
+		int floor(double key) {
+			int lo = 0;
+			int hi = size;
+			while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				if (keys[mid] <= key)
+					lo = mid + 1;
+				else
+					hi = mid;
+			}
+			return lo - 1;
+		}
+		
+		/**
+		 * Replace a run of steps with one step, keeping the rest in order
+		 * @param from Index of the first step to replace
+		 * @param to Index after the last step to replace, from if none are
+		 * @param key obj1 of the new step
+		 * @param dot Dot on the new step
+		 */
+		void replace(int from, int to, double key, int dot) {
+			int newSize = size - (to - from) + 1;
+			if (newSize > keys.length) {
+				keys = Arrays.copyOf(keys, keys.length * 2);
+				dots = Arrays.copyOf(dots, dots.length * 2);
+			}
+			System.arraycopy(keys, to, keys, from + 1, size - to);
+			System.arraycopy(dots, to, dots, from + 1, size - to);
+			keys[from] = key;
+			dots[from] = dot;
+			size = newSize;
+		}
+	}
+	
+	/**
+	 * Compare two Dots by index
+	 */
+	private interface IndexComparator {
+		/**
+		 * Compare two Dots
+		 * @param a Index of the first Dot
+		 * @param b Index of the second Dot
+		 * @return Negative if a goes first, positive if b goes first, 0 if either
+		 */
+		int compare(int a, int b);
+	}
+	
+	/**
+	 * Sort Dots into fronts and calculate their crowding distances
+	 * Uses efficient non-dominated sorting with binary search (ENS-BS): after sorting the Dots
+	 * lexicographically a Dot can only be dominated by Dots before it, so each Dot is put straight into
+	 * the first front that does not dominate it. This is O(MN log N) for two objectives and close to it
+	 * in practice for more, instead of the O(MN^2) of the original fast non-dominated sort.
+	 * @param objectives Objective values to minimize, objectives[m][i] is objective m of Dot i
+	 */
+	public void sort(double[][] objectives) {
+		int n = objectives[0].length;
+		allocate(n);
+		
+		//Sort lexicographically by all objectives
+		for (int i = 0; i < n; i++)
+			order[i] = i;
+		mergeSort(order, 0, n, (a, b) -> compareLex(objectives, a, b));
+		
+		//Put each Dot in the first front with nothing that dominates it
+		numFronts = 0;
+		if (staircases == null || staircases.length < n)
+			staircases = new Staircase[n];
+		for (int k = 0; k < n; k++) {
+			int s = order[k];
+			int lo = 0;
+			int hi = numFronts;
+			while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				if (frontDominates(objectives, mid, s))
+					lo = mid + 1;
+				else
+					hi = mid;
+			}
+			
+			//start a new front if every front dominates it
+			if (lo == numFronts) {
+				frontSizes[numFronts] = 0;
+				frontHeads[numFronts] = -1;
+				if (staircases[numFronts] == null)
+					staircases[numFronts] = new Staircase();
+				staircases[numFronts].size = 0;
+				numFronts++;
+			}
+			if (objectives.length == 3)
+				addToStaircase(objectives, lo, s);
+			ranks[s] = lo;
+			frontSizes[lo]++;
+			nextInFront[s] = frontHeads[lo];
+			frontHeads[lo] = s;
+		}
+		
+		//Group the Dots by front, keeping the lexicographic order inside each front
+		frontStarts[0] = 0;
+		for (int f = 1; f <= numFronts; f++)
+			frontStarts[f] = frontStarts[f - 1] + frontSizes[f - 1];
+		for (int f = 0; f < numFronts; f++)
+			frontSizes[f] = 0;
+		for (int k = 0; k < n; k++) {
+			int s = order[k];
+			int f = ranks[s];
+			frontMembers[frontStarts[f] + frontSizes[f]++] = s;
+		}
+		
+		//Crowding distance of each front
+		for (int f = 0; f < numFronts; f++)
+			calcCrowding(objectives, frontStarts[f], frontStarts[f + 1]);
+	}
+	
+	/**
+	 * Make sure the work arrays can hold n Dots
+	 * @param n Number of Dots
+	 */
+	private void allocate(int n) {
+		if (ranks != null && ranks.length == n)
+			return;
+		ranks = new int[n];
+		crowding = new double[n];
+		order = new int[n];
+		frontStarts = new int[n + 1];
+		frontMembers = new int[n];
+		frontSizes = new int[n];
+		frontHeads = new int[n];
+		nextInFront = new int[n];
+		temp = new int[n];
+	}
+	
+	/**
+	 * Check whether a Dot is dominated by any Dot already in a front
+	 * @param objectives Objective values to minimize
+	 * @param f Index of the front
+	 * @param s Index of the Dot
+	 * @return Whether a Dot in front f dominates s
+	 */
+	private boolean frontDominates(double[][] objectives, int f, int s) {
+		//With two objectives the last Dot added has the lowest second objective in the front
+		if (objectives.length == 2) {
+			int last = frontHeads[f];
+			return objectives[1][last] < objectives[1][s] ||
+					(objectives[1][last] == objectives[1][s] && objectives[0][last] < objectives[0][s]);
+		}
+		
+		//With three objectives only the last two need checking, so look it up on the front's staircase
+		if (objectives.length == 3) {
+			Staircase stairs = staircases[f];
+			int k = stairs.floor(objectives[1][s]);
+			return k >= 0 && dominates(objectives, stairs.dots[k], s);
+		}
+		
+		//Otherwise check the front from the newest Dot back, they are the most likely to dominate
+		for (int t = frontHeads[f]; t != -1; t = nextInFront[t]) {
+			if (dominates(objectives, t, s))
+				return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Add a Dot to the staircase of a front, the Dots in it that are not beaten on both obj1 and obj2
+	 * Sorted by obj1 with obj2 going down, so the step at or below a Dot's obj1 is the one in the front
+	 * with the lowest obj2 that could dominate it
+	 * @param objectives Objective values to minimize
+	 * @param f Index of the front
+	 * @param s Index of the Dot
+	 */
+	private void addToStaircase(double[][] objectives, int f, int s) {
+		Staircase stairs = staircases[f];
+		double o1 = objectives[1][s];
+		double o2 = objectives[2][s];
+		
+		//an equal Dot is already on it
+		int below = stairs.floor(o1);
+		if (below >= 0 && objectives[2][stairs.dots[below]] <= o2)
+			return;
+		
+		//replace the run of steps this Dot beats, starting at the first one with obj1 at or above its own
+		int from = below >= 0 && stairs.keys[below] == o1 ? below : below + 1;
+		int to = from;
+		while (to < stairs.size && objectives[2][stairs.dots[to]] >= o2)
+			to++;
+		stairs.replace(from, to, o1, s);
+	}
+	
+	/**
+	 * Check if one Dot dominates another, no worse in every objective and better in at least one
+	 * @param objectives Objective values to minimize
+	 * @param a Index of the first Dot
+	 * @param b Index of the second Dot
+	 * @return Whether a dominates b
+	 */
+	public static boolean dominates(double[][] objectives, int a, int b) {
+		boolean better = false;
+		for (int m = 0; m < objectives.length; m++) {
+			if (objectives[m][a] > objectives[m][b])
+				return false;
+			if (objectives[m][a] < objectives[m][b])
+				better = true;
+		}
+		return better;
+	}
+	
+	/**
+	 * Compare two Dots objective by objective
+	 * @param objectives Objective values to minimize
+	 * @param a Index of the first Dot
+	 * @param b Index of the second Dot
+	 * @return Negative if a comes first, positive if b comes first, 0 if they are equal
+	 */
+	private static int compareLex(double[][] objectives, int a, int b) {
+		for (int m = 0; m < objectives.length; m++) {
+			int c = Double.compare(objectives[m][a], objectives[m][b]);
+			if (c != 0)
+				return c;
+		}
+		return 0;
+	}
+	
+	/**
+	 * Calculate the crowding distance of every Dot in a front
+	 * @param objectives Objective values to minimize
+	 * @param from Index into frontMembers of the first Dot in the front
+	 * @param to Index into frontMembers after the last Dot in the front
+	 */
+	private void calcCrowding(double[][] objectives, int from, int to) {
+		for (int k = from; k < to; k++)
+			crowding[frontMembers[k]] = 0;
+		
+		//Too small to be crowded
+		if (to - from <= 2) {
+			for (int k = from; k < to; k++)
+				crowding[frontMembers[k]] = Double.POSITIVE_INFINITY;
+			return;
+		}
+		
+		for (int m = 0; m < objectives.length; m++) {
+			double[] obj = objectives[m];
+			mergeSort(frontMembers, from, to, (a, b) -> Double.compare(obj[a], obj[b]));
+			
+			//Keep the ends of the front
+			double min = obj[frontMembers[from]];
+			double max = obj[frontMembers[to - 1]];
+			crowding[frontMembers[from]] = Double.POSITIVE_INFINITY;
+			crowding[frontMembers[to - 1]] = Double.POSITIVE_INFINITY;
+			if (max == min)
+				continue;
+			
+			//Add the normalized gap between each Dot's neighbours
+			for (int k = from + 1; k < to - 1; k++)
+				crowding[frontMembers[k]] += (obj[frontMembers[k + 1]] - obj[frontMembers[k - 1]]) / (max - min);
+		}
+	}
+	
+	/**
+	 * Stable merge sort of a range of Dot indices
+	 * @param a Array of Dot indices
+	 * @param from Index of the first element
+	 * @param to Index after the last element
+	 * @param cmp How to order the Dots
+	 */
+	private void mergeSort(int[] a, int from, int to, IndexComparator cmp) {
+		if (to - from < 2)
+			return;
+		
+		//Insertion sort small ranges
+		if (to - from <= 16) {
+			for (int i = from + 1; i < to; i++) {
+				int v = a[i];
+				int j = i - 1;
+				while (j >= from && cmp.compare(a[j], v) > 0) {
+					a[j + 1] = a[j];
+					j--;
+				}
+				a[j + 1] = v;
+			}
+			return;
+		}
+		
+		int mid = (from + to) >>> 1;
+		mergeSort(a, from, mid, cmp);
+		mergeSort(a, mid, to, cmp);
+		
+		//already in order
+		if (cmp.compare(a[mid - 1], a[mid]) <= 0)
+			return;
+		
+		System.arraycopy(a, from, temp, from, to - from);
+		int i = from;
+		int j = mid;
+		for (int k = from; k < to; k++) {
+			if (j >= to || (i < mid && cmp.compare(temp[i], temp[j]) <= 0))
+				a[k] = temp[i++];
+			else
+				a[k] = temp[j++];
+		}
+	}
+	
+	/**
+	 * Get the front each Dot is in
+	 * @return Front of each Dot, 0 is the best
+	 */
+	public int[] ranks() {
+		return ranks;
+	}
+	
+	/**
+	 * Get the crowding distance of each Dot
+	 * @return Crowding distance of each Dot, infinite at the ends of a front
+	 */
+	public double[] crowding() {
+		return crowding;
+	}
+	
+	/**
+	 * Get the number of fronts found in the last sort
+	 * @return Number of fronts
+	 */
+	public int numFronts() {
+		return numFronts;
+	}
+}
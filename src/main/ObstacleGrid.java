@@ -0,0 +1,150 @@
+/**
+ * ObstacleGrid
+ * Author: agent
+ * Created on: 18/10/2026
+ * Uniform grid over the space so a point is only checked against the obstacles near it
+ */
+
+package main;
+
+import java.util.List;
+
+public class ObstacleGrid {
+	//Attributes
+	private double[] xs;			//X position of each obstacle
+	private double[] ys;			//Y position of each obstacle
+	private double[] rads;			//Radius of each obstacle
+	private double cellSize;		//Side length of a cell in pixels
+	private int cols;				//Number of columns of cells
+	private int rows;				//Number of rows of cells
+	private int[] cellStarts;		//Index into cellItems where each cell's obstacles start
+	private int[] cellItems;		//Obstacles overlapping each cell, grouped by cell
+	
+	/**
+	 * Build a grid over a list of obstacles
+	 * Cells are about the size of an obstacle, or bigger if that leaves roughly one obstacle per cell
+	 * @param obstacles Obstacles to index
+	 * @param width Width of the space in pixels
+	 * @param height Height of the space in pixels
+	 */
+	public ObstacleGrid(List<Dot> obstacles, double width, double height) {
+		int n = obstacles.size();
+		xs = new double[n];
+		ys = new double[n];
+		rads = new double[n];
+		double radSum = 0;
+		for (int k = 0; k < n; k++) {
+			Dot o = obstacles.get(k);
+			xs[k] = o.x();
+			ys[k] = o.y();
+			rads[k] = o.rad();
+			radSum += o.rad();
+		}
+		
+		//Size the cells
+		double meanRad = n == 0 ? 1 : radSum / n;
+		cellSize = Math.max(1, Math.max(meanRad, Math.sqrt(width * height / Math.max(1, n))));
+		cols = (int) Math.ceil(width / cellSize) + 1;
+		rows = (int) Math.ceil(height / cellSize) + 1;
+		
+		//Count the obstacles overlapping each cell, then fill them in
+		cellStarts = new int[cols * rows + 1];
+		for (int k = 0; k < n; k++)
+			forEachCell(k, (cell) -> cellStarts[cell + 1]++);
+		for (int c = 0; c < cols * rows; c++)
+			cellStarts[c + 1] += cellStarts[c];
+		
+		int[] filled = new int[cols * rows];
+		cellItems = new int[cellStarts[cols * rows]];
+		for (int k = 0; k < n; k++) {
+			final int obstacle = k;
+			forEachCell(k, (cell) -> cellItems[cellStarts[cell] + filled[cell]++] = obstacle);
+		}
+	}
+	
+	/**
+	 * Work done on a cell
+	 */
+	private interface CellTask {
+		/**
+		 * Run the work on a cell
+		 * @param cell Index of the cell
+		 */
+		void run(int cell);
+	}
+	
+	/**
+	 * Run a task on every cell an obstacle's bounding box overlaps
+	 * @param k Index of the obstacle
+	 * @param task Work to do on each cell
+	 */
+	private void forEachCell(int k, CellTask task) {
+		int c0 = col(xs[k] - rads[k]);
+		int c1 = col(xs[k] + rads[k]);
+		int r0 = row(ys[k] - rads[k]);
+		int r1 = row(ys[k] + rads[k]);
+		for (int r = r0; r <= r1; r++) {
+			for (int c = c0; c <= c1; c++)
+				task.run(r * cols + c);
+		}
+	}
+	
+	/**
+	 * Get the column of cells an x position is in
+	 * @param x X position in pixels
+	 * @return Column, clamped to the grid
+	 */
+	private int col(double x) {
+		return Math.max(0, Math.min(cols - 1, (int) (x / cellSize)));
+	}
+	
+	/**
+	 * Get the row of cells a y position is in
+	 * @param y Y position in pixels
+	 * @return Row, clamped to the grid
+	 */
+	private int row(double y) {
+		return Math.max(0, Math.min(rows - 1, (int) (y / cellSize)));
+	}
+	
+	/**
+	 * Get the number of obstacles in the grid
+	 * @return Number of obstacles
+	 */
+	public int size() {
+		return xs.length;
+	}
+	
+	/**
+	 * Check whether a point is inside any obstacle
+	 * @param x X position of the point
+	 * @param y Y position of the point
+	 * @return Whether the point is inside an obstacle
+	 */
+	public boolean hits(double x, double y) {
+		int cell = row(y) * cols + col(x);
+		for (int i = cellStarts[cell]; i < cellStarts[cell + 1]; i++) {
+			int k = cellItems[i];
+			if (Vec.within(x, y, xs[k], ys[k], rads[k]))
+				return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Get how far a point is from the edge of the closest obstacle overlapping its cell
+	 * Obstacles further away than that are not checked, so far from all obstacles this is only a bound
+	 * @param x X position of the point
+	 * @param y Y position of the point
+	 * @return Distance to the closest edge, negative inside an obstacle, infinite if none are near
+	 */
+	public double clearance(double x, double y) {
+		int cell = row(y) * cols + col(x);
+		double closest = Double.POSITIVE_INFINITY;
+		for (int i = cellStarts[cell]; i < cellStarts[cell + 1]; i++) {
+			int k = cellItems[i];
+			closest = Math.min(closest, Vec.dist(x, y, xs[k], ys[k]) - rads[k]);
+		}
+		return closest;
+	}
+}
@@ -0,0 +1,191 @@
+/**
+ * OffHeapGenomes
+ * Author: agent
+ * Created on: 18/10/2026
+ * Genomes storing each step as its (dx,dy) pair of doubles, the same as DoubleGenomes, but in direct buffers
+ * outside the heap. The buffers are allocated once for the whole population and reused every generation,
+ * so the heap and the garbage collector never see the directions however many Dots there are, and there
+ * is no limit of 2^31 doubles on them the way there is on one array.
+ */
+
+package main;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+public class OffHeapGenomes extends Genomes {
+	//Attributes
+	private ByteBuffer[] regions;	//Little-endian (dx,dy) of each step, a power of two of whole Dots per region
+	private int shift;				//Dot index shifted right by this gives its region
+	private int mask;				//Dot index masked with this gives its place in its region
+	private int dotBytes;			//Bytes taken by one Dot's steps
+	
+	/**
+	 * Create a set of Genomes filled with zero steps, allocating all of the memory up front
+	 * Direct memory is capped at the maximum heap size unless the JVM is started with -XX:MaxDirectMemorySize
+	 * @param size Number of Dots
+	 * @param steps Number of steps each Dot can take
+	 */
+	public OffHeapGenomes(int size, int steps) {
+		super(size, steps);
+		this.dotBytes = steps * 2 * Double.BYTES;
+		int perRegion = Integer.highestOneBit((int) Math.max(1, MAP_REGION / dotBytes));
+		this.shift = Integer.numberOfTrailingZeros(perRegion);
+		this.mask = perRegion - 1;
+		
+		regions = new ByteBuffer[(size + perRegion - 1) / perRegion];
+		for (int r = 0; r < regions.length; r++) {
+			int dots = Math.min(perRegion, size - r * perRegion);
+			regions[r] = ByteBuffer.allocateDirect(dots * dotBytes).order(ByteOrder.LITTLE_ENDIAN);
+		}
+	}
+	
+	/**
+	 * Get how the steps are stored
+	 * @return OFF_HEAP
+	 */
+	public Layout layout() {
+		return Layout.OFF_HEAP;
+	}
+	
+	/**
+	 * Get the region a Dot is in
+	 * @param dot Index of the Dot
+	 * @return Buffer holding the Dot's steps
+	 */
+	private ByteBuffer region(int dot) {
+		return regions[dot >>> shift];
+	}
+	
+	/**
+	 * Get where a step is in its Dot's region
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @return Byte offset of the step's dx, its dy follows
+	 */
+	private int offset(int dot, int step) {
+		return (dot & mask) * dotBytes + step * 2 * Double.BYTES;
+	}
+	
+	/**
+	 * Get the x component of a step
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @return X component of the step
+	 */
+	public double dx(int dot, int step) {
+		return region(dot).getDouble(offset(dot, step));
+	}
+	
+	/**
+	 * Get the y component of a step
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @return Y component of the step
+	 */
+	public double dy(int dot, int step) {
+		return region(dot).getDouble(offset(dot, step) + Double.BYTES);
+	}
+	
+	/**
+	 * Set a step
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @param dx X component of the step
+	 * @param dy Y component of the step
+	 */
+	public void set(int dot, int step, double dx, double dy) {
+		ByteBuffer region = region(dot);
+		int i = offset(dot, step);
+		if (hashes != null)
+			hashes[dot] ^= stepHash(dot, step) ^ mix(step, Double.doubleToLongBits(dx), 
+													 Double.doubleToLongBits(dy));
+		region.putDouble(i, dx);
+		region.putDouble(i + Double.BYTES, dy);
+	}
+	
+	/**
+	 * Get the angle of a step
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @return Angle of the step in radians, in [-PI, PI]
+	 */
+	public double angle(int dot, int step) {
+		return Math.atan2(dy(dot, step), dx(dot, step));
+	}
+	
+	/**
+	 * Set a step from an angle
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @param angRad Angle of the step in radians
+	 */
+	public void setAngle(int dot, int step, double angRad) {
+		set(dot, step, Math.cos(angRad) * Dot.STEP_SIZE, Math.sin(angRad) * Dot.STEP_SIZE);
+	}
+	
+	/**
+	 * Copy a Dot's steps into another set of Genomes
+	 * @param from Index of the Dot to copy
+	 * @param dst Genomes to copy into
+	 * @param to Index of the Dot to copy into
+	 */
+	public void copy(int from, Genomes dst, int to) {
+		if (!(dst instanceof OffHeapGenomes)) {
+			copySteps(from, dst, to);
+			return;
+		}
+		OffHeapGenomes out = (OffHeapGenomes) dst;
+		out.region(to).put(out.offset(to, 0), region(from), offset(from, 0), dotBytes);
+		copyHash(from, dst, to);
+	}
+	
+	/**
+	 * Hash a step as it is stored
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @return Hash of the step's dx and dy bits, the same as DoubleGenomes gives
+	 */
+	protected long stepHash(int dot, int step) {
+		return mix(step, Double.doubleToLongBits(dx(dot, step)), Double.doubleToLongBits(dy(dot, step)));
+	}
+	
+	/**
+	 * Copy every Dot's steps into a file through memory-mapped regions, as little-endian doubles laid out
+	 * the same way DoubleGenomes saves them, and write them out to the disk
+	 * @param ch File to write to, grown if needed
+	 * @param pos Position in the file to start at
+	 * @throws IOException If the file cannot be mapped
+	 */
+	public void save(FileChannel ch, long pos) throws IOException {
+		long at = pos;
+		for (ByteBuffer region : regions) {
+			MappedByteBuffer mapped = ch.map(MapMode.READ_WRITE, at, region.capacity());
+			mapped.put(0, region, 0, region.capacity());
+			mapped.force();
+			at += region.capacity();
+		}
+	}
+	
+	/**
+	 * Copy every Dot's steps from a file written by save() on OffHeapGenomes or DoubleGenomes
+	 * @param ch File to read from
+	 * @param pos Position in the file to start at
+	 * @throws IOException If the file cannot be mapped or is too short
+	 */
+	public void load(FileChannel ch, long pos) throws IOException {
+		long bytes = (long) size * dotBytes;
+		if (ch.size() < pos + bytes)
+			throw new IOException("File holds " + (ch.size() - pos) + " bytes of steps, expected " + bytes);
+		long at = pos;
+		for (ByteBuffer region : regions) {
+			region.put(0, ch.map(MapMode.READ_ONLY, at, region.capacity()), 0, region.capacity());
+			at += region.capacity();
+		}
+		rehashAll();
+	}
+}
@@ -0,0 +1,204 @@
+/**
+ * PhaseTimer
+ * Author: agent
+ * Created on: 18/10/2026
+ * Latency histograms of each phase of a generation, and how many Dot steps and generations run per second
+ */
+
+package main;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+public class PhaseTimer {
+	//Constants
+	private static final int SUB_BITS = 5;						//Buckets per power of two are 2^SUB_BITS, ~3% wide
+	private static final int SUB_COUNT = 1 << SUB_BITS;			//Buckets per power of two
+	private static final int NUM_BUCKETS = (64 - SUB_BITS) * SUB_COUNT;	//Enough for any positive long
+	
+	//Attributes
+	private long[][] buckets;		//Number of times each phase fell into each bucket
+	private long[] counts;			//Number of times each phase ran
+	private long[] totals;			//Total time spent in each phase in ns
+	private long[] maxes;			//Longest each phase took in ns
+	private long dotSteps;			//Dot steps taken in the generations counted
+	private long generations;		//Generations finished
+	private long t0;				//Time the timer was created or reset in ns
+	
+	/**
+	 * Parts of a generation that are timed
+	 */
+	public enum Phase {
+		STEP,			//Moving every Dot by one step
+		ROLLOUT,		//Running every Dot to the end of its trajectory and calculating fitnesses
+		FITNESS,		//Calculating fitnesses after stepping
+		CHAMPION,		//Finding the best Dot
+		SELECTION,		//Choosing parents and copying their directions
+		MUTATE			//Mutating the new generation
+	}
+	
+	/**
+	 * Create an empty timer, throughput is measured from now
+	 */
+	public PhaseTimer() {
+		int phases = Phase.values().length;
+		buckets = new long[phases][NUM_BUCKETS];
+		counts = new long[phases];
+		totals = new long[phases];
+		maxes = new long[phases];
+		reset();
+	}
+	
+	/**
+	 * Forget everything recorded and start measuring throughput from now
+	 */
+	public void reset() {
+		for (long[] b : buckets)
+			Arrays.fill(b, 0);
+		Arrays.fill(counts, 0);
+		Arrays.fill(totals, 0);
+		Arrays.fill(maxes, 0);
+		dotSteps = 0;
+		generations = 0;
+		t0 = System.nanoTime();
+	}
+	
+	/**
+	 * Record how long a phase took
+	 * @param phase Phase that ran
+	 * @param nanos Time it took in ns
+	 */
+	public void record(Phase phase, long nanos) {
+		int p = phase.ordinal();
+		nanos = Math.max(0, nanos);
+		buckets[p][bucket(nanos)]++;
+		counts[p]++;
+		totals[p] += nanos;
+		if (nanos > maxes[p])
+			maxes[p] = nanos;
+	}
+	
+	/**
+	 * Record a finished generation
+	 * @param steps Number of Dot steps taken in it
+	 */
+	public void recordGeneration(long steps) {
+		dotSteps += steps;
+		generations++;
+	}
+	
+	/**
+	 * Get the bucket a time falls into, exact below 2^SUB_BITS and then SUB_COUNT buckets per power of two
+	 * @param v Time in ns, not negative
+	 * @return Index of the bucket
+	 */
+	private static int bucket(long v) {
+		if (v < SUB_COUNT)
+			return (int) v;
+		int shift = 63 - Long.numberOfLeadingZeros(v) - SUB_BITS;
+		return shift * SUB_COUNT + (int) (v >>> shift);
+	}
+	
+	/**
+	 * Get the largest time that falls into a bucket
+	 * @param b Index of the bucket
+	 * @return Upper end of the bucket in ns
+	 */
+	private static long bucketTop(int b) {
+		if (b < 2 * SUB_COUNT)
+			return b;
+		int shift = b / SUB_COUNT - 1;
+		long sub = b % SUB_COUNT + SUB_COUNT;
+		return ((sub + 1) << shift) - 1;
+	}
+	
+	/**
+	 * Get the number of times a phase ran
+	 * @param phase Phase to look up
+	 * @return Number of times it was recorded
+	 */
+	public long count(Phase phase) {
+		return counts[phase.ordinal()];
+	}
+	
+	/**
+	 * Get the total time spent in a phase
+	 * @param phase Phase to look up
+	 * @return Total time in ns
+	 */
+	public long total(Phase phase) {
+		return totals[phase.ordinal()];
+	}
+	
+	/**
+	 * Get the longest a phase took
+	 * @param phase Phase to look up
+	 * @return Longest time in ns
+	 */
+	public long max(Phase phase) {
+		return maxes[phase.ordinal()];
+	}
+	
+	/**
+	 * Get a percentile of the time a phase took, to within about 3%
+	 * @param phase Phase to look up
+	 * @param q Fraction of runs that were at least this fast (0-1), e.g. 0.99 for p99
+	 * @return Time in ns, 0 if the phase never ran
+	 */
+	public long percentile(Phase phase, double q) {
+		int p = phase.ordinal();
+		if (counts[p] == 0)
+			return 0;
+		
+		long rank = Math.max(1, (long) Math.ceil(q * counts[p]));
+		long seen = 0;
+		for (int b = 0; b < NUM_BUCKETS; b++) {
+			seen += buckets[p][b];
+			if (seen >= rank)
+				return Math.min(bucketTop(b), maxes[p]);
+		}
+		return maxes[p];
+	}
+	
+	/**
+	 * Get the Dot steps taken per second of wall time since the timer was created or reset
+	 * @return Dot steps per second
+	 */
+	public double dotStepsPerSecond() {
+		return dotSteps / elapsedSeconds();
+	}
+	
+	/**
+	 * Get the generations finished per second of wall time since the timer was created or reset
+	 * @return Generations per second
+	 */
+	public double generationsPerSecond() {
+		return generations / elapsedSeconds();
+	}
+	
+	/**
+	 * Get the wall time since the timer was created or reset
+	 * @return Time in seconds
+	 */
+	private double elapsedSeconds() {
+		return Math.max(1e-9, (System.nanoTime() - t0) * 1e-9);
+	}
+	
+	/**
+	 * Summarize every phase that ran and the throughput
+	 * @return One line per phase, then one for the throughput
+	 */
+	public String report() {
+		StringBuilder sb = new StringBuilder();
+		for (Phase phase : Phase.values()) {
+			if (count(phase) == 0)
+				continue;
+			sb.append(String.format(Locale.ROOT, "%-9s n: %d total: %.3f ms p50: %.3f ms p99: %.3f ms max: %.3f ms%n",
+									phase, count(phase), total(phase) * 1e-6, percentile(phase, 0.5) * 1e-6,
+									percentile(phase, 0.99) * 1e-6, max(phase) * 1e-6));
+		}
+		sb.append(String.format(Locale.ROOT, "dot steps/s: %.0f generations/s: %.2f%n",
+								dotStepsPerSecond(), generationsPerSecond()));
+		return sb.toString();
+	}
+}
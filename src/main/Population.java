@@ -8,15 +8,42 @@
 package main;
 
 import java.awt.Color;
-import java.awt.Graphics2D;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 public class Population {
 	//Constants
-	private final double MUTATION_RATE = 0.01;		//How often the Dots mutate 
+	public static final double MUTATION_RATE = 0.01;	//How often the Dots mutate
+	private static final int INIT_STREAM = 0;		//Random stream used to create the first Dots
+	private static final int SELECT_STREAM = 1;		//Random stream used to select parents
+	private static final int MUTATE_STREAM = 2;		//Random stream used to mutate
+	private static final double CROWDING_EPSILON = 1e-6;	//Keeps a front's least crowded Dot below the next front up
+	private static final int CHECKPOINT_MAGIC = 0x47414443;	//"GADC" at the start of every checkpoint
+	private static final int CHECKPOINT_VERSION = 2;		//Layout of the checkpoint
+	private static final int CIRCLE_BYTES = 2 * Double.BYTES + Integer.BYTES;	//Size of a saved goal or obstacle
+	private static final int CHECKPOINT_HEADER = 2 * Integer.BYTES + Long.BYTES + 2 * Integer.BYTES + 1 + 
+			4 * Double.BYTES + CIRCLE_BYTES + 3 * Integer.BYTES + Double.BYTES + 2 + Integer.BYTES;	//Size before the obstacles
+	private static final int SETUP_BYTES = Long.BYTES + 3 * Integer.BYTES + 2 + 4 * Double.BYTES + CIRCLE_BYTES;	//Size of setup() before the obstacles
 	
 	//Attributes
-	private Dot[] dots;								//Dots in the population
+	private int size;								//Number of Dots in the population
+	private Genomes genomes;						//Directions of every Dot
+	private Genomes nextGenomes;					//Directions being built for the next generation
+	private double[] xs;							//X position of each Dot
+	private double[] ys;							//Y position of each Dot
+	private int[] stepsTaken;						//Number of steps each Dot has taken
+	private boolean[] dead;							//Whether each Dot is dead
+	private boolean[] atGoal;						//Whether each Dot is at the goal
+	private boolean[] crashed;						//Whether each Dot was killed by an edge or an obstacle
 	private double width;							//Width of space Dots are in
 	private double height;							//Height of space Dots are in
 	private Dot goal;								//Goal the Dots are trying to reach
@@ -28,7 +55,40 @@ public class Population {
 	private int bestDotIndex;						//Index of the best Dot
 	private int minSteps; 							//Steps taken by the best dot
 	private ArrayList<Dot> obstacles;				//List of obstacles
+	private ObstacleGrid obstacleGrid;				//Obstacles indexed by position, null until the next step
 	private boolean showChampOnly;					//Whether to draw just the Champion or not
+	private Selector selector;						//Chooses parents for the next generation
+	private Mutator mutator;						//Mutates the directions of the next generation
+	private ChunkRunner runner;						//Runs the per-Dot loops over chunks of Dots
+	private double[] chunkSums;						//Fitness sum of each chunk
+	private double[] chunkMaxes;					//Highest fitness in each chunk
+	private int[] chunkBests;						//Index of the best Dot in each chunk
+	private int[] chunkAlive;						//Dots in each chunk that did not die
+	private int[] chunkAtGoal;						//Dots in each chunk that reached the goal
+	private int alive;								//Dots of the last evaluated generation that did not crash
+	private int reachedGoal;						//Dots of the last evaluated generation that reached the goal
+	private int[] active;							//Indices of the Dots still alive, in a slice per chunk
+	private int[] chunkActive;						//Number of Dots in each chunk's slice of active
+	private int[] chunkMoving;						//Dots in each chunk neither dead nor at the goal
+	private int moving;								//Dots neither dead nor at the goal, 0 once the generation is finished
+	private long[] chunkSteps;						//Steps taken by the Dots in each chunk
+	private PhaseTimer timer;						//Times each phase of a generation, null when not timing
+	private long seed;								//Master seed every random stream is derived from
+	private Rng[] chunkRngs;						//Random number generator of each chunk
+	private boolean evaluated;						//Whether the fitnesses are already calculated for this generation
+	private boolean bred;							//Whether nextGenomes and the fitnesses hold a generation finished since creating or resuming
+	private boolean multiObjective;					//Whether parents are chosen by Pareto rank instead of fitness
+	private double[] clearance;						//Closest each Dot has come to the edge of an obstacle
+	private double[][] objectives;					//Objectives to minimize for each Dot
+	private NonDominatedSorter sorter;				//Ranks the Dots on their objectives
+	private double[] scores;						//Selection score of each Dot from its rank and crowding
+	private FitnessCache cache;						//Results of directions already run, null when not caching
+	private boolean[] hashed;						//Whether each Dot was run from the start this rollout
+	private FitnessCache.Entry[] reused;			//Cached result each Dot was given, null if it was run
+	private int[] twinOf;							//Earlier Dot of this rollout with the same directions, -1 if none
+	private long[] twinKeys;						//Hash in each slot of the table of this rollout's directions
+	private int[] twinSlots;						//Dot in each slot of the table plus one, 0 if the slot is empty
+	private RunRecorder recorder;					//Records the champion of every generation, null when not recording
 	
 	/**
 	 * Create a Population
@@ -40,24 +100,254 @@ public class Population {
 	 * @param goal Goal the Dots are trying to reach
 	 */
 	public Population(int size, Vec start, int steps, int width, int height, Dot goal) {
+		this(size, start, steps, width, height, goal, Rng.randomSeed());
+	}
+	
+	/**
+	 * Create a Population that evolves the same way every time for the same seed, on any number of threads
+	 * @param size Number of Dots in the Population
+	 * @param start Start point (x,y)
+	 * @param steps Number of steps each Dot can take
+	 * @param width Width of the space the Population is in
+	 * @param height Height of the space the Population is in
+	 * @param goal Goal the Dots are trying to reach
+	 * @param seed Master seed of every random number used
+	 */
+	public Population(int size, Vec start, int steps, int width, int height, Dot goal, long seed) {
+		this(size, start, steps, width, height, goal, seed, Genomes.Layout.DOUBLES);
+	}
+	
+	/**
+	 * Create a Population that evolves the same way every time for the same seed, choosing how the steps are
+	 * stored. ANGLES stores each step as a quantized angle in 2 bytes instead of a (dx,dy) pair in 16; those
+	 * Dots point in one of AngleGenomes.LEVELS directions, so they evolve differently from the same seed.
+	 * OFF_HEAP keeps the (dx,dy) pairs outside the heap for populations in the millions and evolves the
+	 * same way as DOUBLES.
+	 * @param size Number of Dots in the Population
+	 * @param start Start point (x,y)
+	 * @param steps Number of steps each Dot can take
+	 * @param width Width of the space the Population is in
+	 * @param height Height of the space the Population is in
+	 * @param goal Goal the Dots are trying to reach
+	 * @param seed Master seed of every random number used
+	 * @param layout How to store the steps
+	 */
+	public Population(int size, Vec start, int steps, int width, int height, Dot goal, long seed, 
+						Genomes.Layout layout) {
+		this(size, start, steps, width, height, goal, seed, layout, true);
+	}
+	
+	/**
+	 * Create a Population, leaving the directions empty if they are about to be filled in from elsewhere
+	 * @param size Number of Dots in the Population
+	 * @param start Start point (x,y)
+	 * @param steps Number of steps each Dot can take
+	 * @param width Width of the space the Population is in
+	 * @param height Height of the space the Population is in
+	 * @param goal Goal the Dots are trying to reach
+	 * @param seed Master seed of every random number used
+	 * @param layout How to store the steps
+	 * @param randomize Whether to give the Dots random directions
+	 */
+	private Population(int size, Vec start, int steps, double width, double height, Dot goal, long seed, 
+						Genomes.Layout layout, boolean randomize) {
 		//Set attributes
+		this.size = size;
 		this.width = width;
 		this.height = height;
 		this.goal = goal;
 		this.start = start;
+		this.seed = seed;
+		this.gen = 1;
+		
+		//Run on the calling thread until told otherwise
+		runner = new ChunkRunner(1);
+		int chunks = ChunkRunner.numChunks(size);
+		chunkSums = new double[chunks];
+		chunkMaxes = new double[chunks];
+		chunkBests = new int[chunks];
+		chunkAlive = new int[chunks];
+		chunkAtGoal = new int[chunks];
+		chunkSteps = new long[chunks];
+		chunkActive = new int[chunks];
+		chunkMoving = new int[chunks];
+		chunkRngs = new Rng[chunks];
+		for (int c = 0; c < chunks; c++)
+			chunkRngs[c] = new Rng(0);
 		
 		//Create the Dots
-		dots = new Dot[size];
-		for (int i = 0; i < dots.length; i++){
-			dots[i] = new Dot((int) start.x(), (int) start.y(), Color.WHITE, steps);
+		genomes = Genomes.create(size, steps, layout);
+		nextGenomes = Genomes.create(size, steps, layout);
+		if (randomize) {
+			runner.forEachChunk(size, (c, from, to) -> {
+				Rng rand = chunkRng(INIT_STREAM, c);
+				for (int i = from; i < to; i++)
+					genomes.randomize(i, rand);
+			});
 		}
+		xs = new double[size];
+		ys = new double[size];
+		stepsTaken = new int[size];
+		dead = new boolean[size];
+		atGoal = new boolean[size];
+		crashed = new boolean[size];
+		fitnesses = new double[size];
+		clearance = new double[size];
+		active = new int[size];
+		runner.forEachChunk(size, (c, from, to) -> resetDots(c, from, to));
+		moving = size;
 		
 		//Set default values
-		this.gen = 1;
-		this.minSteps = 200;
+		this.minSteps = steps;
 		this.obstacles = new ArrayList<Dot>();
 		this.showChampOnly = false;
 		this.maxFitness = 0;
+		this.selector = new RouletteSelector();
+		this.mutator = new ResetMutator(MUTATION_RATE);
+		this.multiObjective = false;
+		this.bred = false;
+	}
+	
+	/**
+	 * Get the number of Dots in the Population
+	 * @return Number of Dots in the Population
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Get the master seed every random number in the Population comes from
+	 * @return Master seed
+	 */
+	public long seed() {
+		return seed;
+	}
+	
+	/**
+	 * Get a chunk's random number generator, restarted on the stream for this generation and use
+	 * Each stream only depends on the seed, generation, use and chunk, so the numbers drawn are the same
+	 * however many threads the chunks are spread over
+	 * @param stream What the numbers are used for
+	 * @param c Index of the chunk
+	 * @return Random number generator of the chunk
+	 */
+	private Rng chunkRng(int stream, int c) {
+		Rng rand = chunkRngs[c];
+		rand.setSeed(Rng.streamSeed(seed, gen, stream, c));
+		return rand;
+	}
+	
+	/**
+	 * Set how parents are chosen for the next generation
+	 * @param selector Strategy for choosing parents
+	 */
+	public void setSelector(Selector selector) {
+		this.selector = selector;
+	}
+	
+	/**
+	 * Set how the directions of a new generation are mutated
+	 * @param mutator Strategy for mutating, ResetMutator at MUTATION_RATE by default
+	 */
+	public void setMutator(Mutator mutator) {
+		this.mutator = mutator;
+	}
+	
+	/**
+	 * Set whether parents are chosen by ranking the Dots on separate objectives, like NSGA-II
+	 * The objectives are distance to the goal, steps to the goal and, if there are obstacles, how close the
+	 * Dot came to one. Dots are scored by Pareto front first and crowding distance second, so this is best
+	 * paired with a TournamentSelector. The champion is still the Dot with the highest fitness.
+	 * @param multiObjective Whether to rank the Dots on separate objectives
+	 */
+	public void setMultiObjective(boolean multiObjective) {
+		this.multiObjective = multiObjective;
+		if (multiObjective && sorter == null) {
+			sorter = new NonDominatedSorter();
+			scores = new double[size];
+		}
+		
+		//clearance is only tracked with several objectives
+		if (cache != null)
+			cache.clear();
+	}
+	
+	/**
+	 * Remember where up to a number of genomes ended up, so Dots with the same directions as one already run
+	 * (the champion, and children that were not mutated) are not run again by rollout()
+	 * Dots of the same generation with the same directions as each other are only run once as well
+	 * Results are the same either way; Dots moved with step() are never looked up
+	 * The directions are only hashed while caching, so without a cache mutating costs nothing extra
+	 * @param capacity Most genomes remembered at once, 0 to stop caching
+	 */
+	public void setFitnessCache(int capacity) {
+		genomes.setHashing(capacity > 0);
+		nextGenomes.setHashing(capacity > 0);
+		if (capacity <= 0) {
+			cache = null;
+			return;
+		}
+		cache = new FitnessCache(capacity);
+		if (hashed == null) {
+			hashed = new boolean[size];
+			reused = new FitnessCache.Entry[size];
+			twinOf = new int[size];
+			
+			//at most half full so probes stay short
+			twinKeys = new long[Integer.highestOneBit(size) << 2];
+			twinSlots = new int[twinKeys.length];
+		}
+	}
+	
+	/**
+	 * Get the cache of genome results, with its hit rate
+	 * @return Cache, null when not caching
+	 */
+	public FitnessCache fitnessCache() {
+		return cache;
+	}
+	
+	/**
+	 * Record the champion of every generation from now on, to be replayed with RunRecording
+	 * Add the obstacles first, the recording only describes the space as it was when it started
+	 * @param recorder Recorder created for this Population, null to stop recording
+	 */
+	public void setRecorder(RunRecorder recorder) {
+		this.recorder = recorder;
+	}
+	
+	/**
+	 * Get the recorder of the champions
+	 * @return Recorder, null when not recording
+	 */
+	public RunRecorder recorder() {
+		return recorder;
+	}
+	
+	/**
+	 * Set the number of threads used to step, evaluate, reproduce and mutate the Dots
+	 * Results are the same for any number of threads
+	 * @param parallelism Number of threads, 1 to run on the calling thread
+	 */
+	public void setParallelism(int parallelism) {
+		runner.shutdown();
+		runner = new ChunkRunner(parallelism);
+	}
+	
+	/**
+	 * Get the number of threads used to step, evaluate, reproduce and mutate the Dots
+	 * @return Number of threads
+	 */
+	public int parallelism() {
+		return runner.parallelism();
+	}
+	
+	/**
+	 * Stop the threads used by the Population
+	 */
+	public void shutdown() {
+		runner.shutdown();
 	}
 	
 	/**
@@ -65,7 +355,51 @@ public class Population {
 	 * @return Number of steps the Dots can take
 	 */
 	public int steps() {
-		return dots[0].numSteps();
+		return genomes.steps();
+	}
+	
+	/**
+	 * Get a copy of a Dot in the Population
+	 * @param i Index of the Dot
+	 * @return Dot with the position, state and directions of Dot i
+	 */
+	public Dot dot(int i) {
+		Dot d = new Dot(xs[i], ys[i], Color.WHITE, genomes.toVecs(i));
+		loadState(d, i);
+		return d;
+	}
+	
+	/**
+	 * Copy the state of a Dot into a Dot object
+	 * @param d Dot to copy into
+	 * @param i Index of the Dot to copy
+	 */
+	private void loadState(Dot d, int i) {
+		d.setXY(xs[i], ys[i]);
+		d.setStepsTaken(stepsTaken[i]);
+		d.setDead(dead[i]);
+		d.setAtGoal(atGoal[i]);
+	}
+	
+	/**
+	 * Put a chunk of Dots back at the start point, alive and away from the goal
+	 * @param c Index of the chunk
+	 * @param from Index of the first Dot
+	 * @param to Index after the last Dot
+	 */
+	private void resetDots(int c, int from, int to) {
+		chunkActive[c] = to - from;
+		chunkMoving[c] = to - from;
+		for (int i = from; i < to; i++) {
+			active[i] = i;
+			xs[i] = start.x();
+			ys[i] = start.y();
+			stepsTaken[i] = 0;
+			dead[i] = false;
+			atGoal[i] = false;
+			crashed[i] = false;
+			clearance[i] = Double.POSITIVE_INFINITY;
+		}
 	}
 	
 	/**
@@ -74,66 +408,406 @@ public class Population {
 	 */
 	public void addObstacle(Dot d) {
 		obstacles.add(d);
+		obstacleGrid = null;
+		if (cache != null)
+			cache.clear();
 	}
 	
 	/**
-	 * Update and draw the Dots
-	 * @param g2 Drawing object
+	 * Get the obstacles indexed by position, building the index if obstacles were added since the last time
+	 * @return Grid of the obstacles
 	 */
-	public void update(Graphics2D g2) {
-		//Draw the goal and the obstacles
-		goal.draw(g2);
-		for (Dot o : obstacles)
-			o.draw(g2);
+	private ObstacleGrid obstacleGrid() {
+		if (obstacleGrid == null)
+			obstacleGrid = new ObstacleGrid(obstacles, width, height);
+		return obstacleGrid;
+	}
+	
+	/**
+	 * Advance every Dot in the Population by one step
+	 */
+	public void step() {
+		long t = startTiming();
+		ObstacleGrid grid = obstacleGrid();
+		runner.forEachChunk(size, (c, from, to) -> step(grid, c, from));
+		
+		int sum = 0;
+		for (int c = 0; c < chunkMoving.length; c++)
+			sum += chunkMoving[c];
+		moving = sum;
+		lap(PhaseTimer.Phase.STEP, t);
+	}
+	
+	/**
+	 * Time each phase of every generation from now on
+	 * Costs one clock read per phase while on, and one null check per phase while off
+	 * @param timer Timer to record into, null to stop timing
+	 */
+	public void setTimer(PhaseTimer timer) {
+		this.timer = timer;
+	}
+	
+	/**
+	 * Get the timer recording each phase
+	 * @return Timer, null when not timing
+	 */
+	public PhaseTimer timer() {
+		return timer;
+	}
+	
+	/**
+	 * Read the clock if timing
+	 * @return Current time in ns, 0 when not timing
+	 */
+	private long startTiming() {
+		return timer == null ? 0 : System.nanoTime();
+	}
+	
+	/**
+	 * Record the time since a phase started, if timing
+	 * @param phase Phase that finished
+	 * @param t Time the phase started from startTiming() or lap()
+	 * @return Current time in ns, for the next phase to start from
+	 */
+	private long lap(PhaseTimer.Phase phase, long t) {
+		if (timer == null)
+			return 0;
+		long now = System.nanoTime();
+		timer.record(phase, now - t);
+		return now;
+	}
+	
+	/**
+	 * Advance the live Dots of a chunk by one step, dropping the ones that die from its slice of active
+	 * Stepping a dead Dot changes nothing, so they are skipped for good
+	 * @param grid Obstacles indexed by position
+	 * @param c Index of the chunk
+	 * @param from Index of the first Dot in the chunk, where its slice of active starts
+	 */
+	private void step(ObstacleGrid grid, int c, int from) {
+		boolean hasObstacles = grid.size() > 0;
+		double rad = Dot.RAD;
+		int steps = genomes.steps();
+		int kept = 0;
+		int stillMoving = 0;
 		
-		//loop through all the dots
-		for (int i = 0; i < dots.length; i++) {
-			Dot d = dots[i];
+		for (int k = from; k < from + chunkActive[c]; k++) {
+			int i = active[k];
+			double x = xs[i];
+			double y = ys[i];
+			boolean isDead = dead[i];
+			boolean crash = false;
 			
 			//edge detection
-			if (d.x() < d.rad()) {
-				d.setX(d.rad()); 
-				d.setDead(true);
-			} else if (d.x() > width - d.rad()) {
-				d.setX(width - d.rad());
-				d.setDead(true);
+			if (x < rad) {
+				x = rad;
+				crash = true;
+			} else if (x > width - rad) {
+				x = width - rad;
+				crash = true;
 			}
 			
-			if (d.y() < d.rad()) {
-				d.setY(d.rad());
-				d.setDead(true);
-			} else if (d.y() > height - d.rad()){
-				d.setY(height - d.rad());
-				d.setDead(true);
+			if (y < rad) {
+				y = rad;
+				crash = true;
+			} else if (y > height - rad) {
+				y = height - rad;
+				crash = true;
 			}
 			
 			//Kill dot if its worse than best dot
-			if (d.stepsTaken() > minSteps)
-				d.setDead(true);
+			if (stepsTaken[i] > minSteps)
+				isDead = true;
 			
-			//Kill the dot if it hits an obstacle
-			for (Dot obstacle : obstacles) {
-				if (Vec.diff(d, obstacle).mag() < obstacle.rad()) {
-					d.setDead(true);
-					break;
+			//Kill the dot if it hits an obstacle, keeping track of how close it comes to one if needed
+			if (hasObstacles && !isDead && !crash) {
+				if (multiObjective) {
+					double clear = grid.clearance(x, y);
+					if (clear < 0)
+						crash = true;
+					clearance[i] = Math.min(clearance[i], Math.max(0, clear));
+				} else if (grid.hits(x, y)) {
+					crash = true;
+				}
+			}
+			if (crash)
+				isDead = true;
+			
+			//Take a step if there are more to take and the Dot is not at the goal, else it is dead
+			if (!isDead) {
+				if (stepsTaken[i] < steps && !atGoal[i]) {
+					x += genomes.dx(i, stepsTaken[i]);
+					y += genomes.dy(i, stepsTaken[i]);
+					stepsTaken[i]++;
+				} else {
+					isDead = true;
 				}
 			}
 			
 			//Check if the dot is at the goal
-			d.move();
-			d.setAtGoal(withinGoal(d));
+			xs[i] = x;
+			ys[i] = y;
+			dead[i] = isDead;
+			//a Dot already at the goal only takes this frame to die, like a rollout stopping there
+			crashed[i] = crash && !atGoal[i];
+			atGoal[i] = withinGoal(x, y);
+			
+			//keep the live Dots in order at the front of the slice
+			if (!isDead) {
+				active[from + kept++] = i;
+				if (!atGoal[i])
+					stillMoving++;
+			}
+		}
+		chunkActive[c] = kept;
+		chunkMoving[c] = stillMoving;
+	}
+	
+	/**
+	 * Step the current generation until it is finished, then create the next one
+	 */
+	public void runGeneration() {
+		rollout();
+		nextGeneration();
+	}
+	
+	/**
+	 * Run every Dot from where it is to the end of its trajectory and calculate the fitnesses
+	 * Each Dot's directions are fixed for the generation, so there is no need to move the Dots in lockstep;
+	 * each one runs to its death or the goal in one loop, then goes straight into the fitness stage
+	 */
+	public void rollout() {
+		long t = startTiming();
+		ObstacleGrid grid = obstacleGrid();
+		if (cache == null) {
+			runner.forEachChunk(size, (c, from, to) -> {
+				double sum = 0;
+				for (int i = from; i < to; i++) {
+					rollout(grid, i);
+					fitnesses[i] = calcFitness(i);
+					sum += fitnesses[i];
+				}
+				chunkSums[c] = sum;
+			});
+		} else {
+			//only the first Dot with directions not in the cache is run, the others copy where it ended up
+			runner.forEachChunk(size, (c, from, to) -> lookUp(from, to));
+			findTwins();
+			runner.forEachChunk(size, (c, from, to) -> {
+				for (int i = from; i < to; i++) {
+					if (twinOf[i] < 0)
+						rollout(grid, i);
+				}
+			});
+			runner.forEachChunk(size, (c, from, to) -> {
+				double sum = 0;
+				for (int i = from; i < to; i++) {
+					if (twinOf[i] >= 0)
+						copyResult(twinOf[i], i);
+					fitnesses[i] = calcFitness(i);
+					sum += fitnesses[i];
+				}
+				chunkSums[c] = sum;
+			});
+		}
+		fitnessSum = sumChunks();
+		evaluated = true;
+		if (cache != null)
+			updateCache();
+		
+		//every Dot is dead or at the goal, any dead ones left in active are dropped by the next step
+		moving = 0;
+		lap(PhaseTimer.Phase.ROLLOUT, t);
+	}
+	
+	/**
+	 * Give the Dots in a range that have not moved yet the result of the same directions from the cache,
+	 * leaving them finished so the rollout skips them
+	 * @param from Index of the first Dot
+	 * @param to Index after the last Dot
+	 */
+	private void lookUp(int from, int to) {
+		for (int i = from; i < to; i++) {
+			reused[i] = null;
+			hashed[i] = stepsTaken[i] == 0 && !dead[i] && !atGoal[i];
+			if (!hashed[i])
+				continue;
+			
+			FitnessCache.Entry e = cache.find(genomes.hash(i), genomes, i, minSteps);
+			if (e != null) {
+				xs[i] = e.x;
+				ys[i] = e.y;
+				stepsTaken[i] = e.steps;
+				dead[i] = e.dead;
+				atGoal[i] = e.atGoal;
+				crashed[i] = e.crashed;
+				clearance[i] = e.clearance;
+				reused[i] = e;
+			}
+		}
+	}
+	
+	/**
+	 * Find the Dots that missed the cache with the same directions as an earlier one, on one thread, so only
+	 * the earliest of them is run
+	 */
+	private void findTwins() {
+		Arrays.fill(twinSlots, 0);
+		int mask = twinSlots.length - 1;
+		for (int i = 0; i < size; i++) {
+			twinOf[i] = -1;
+			if (!hashed[i] || reused[i] != null)
+				continue;
+			
+			//probe past other directions with the same hash, adding the Dot if none match
+			long hash = genomes.hash(i);
+			int s = (int) (hash ^ (hash >>> 32)) & mask;
+			for (; twinSlots[s] != 0; s = (s + 1) & mask) {
+				if (twinKeys[s] == hash && genomes.sameSteps(i, twinSlots[s] - 1)) {
+					twinOf[i] = twinSlots[s] - 1;
+					break;
+				}
+			}
+			if (twinOf[i] < 0) {
+				twinKeys[s] = hash;
+				twinSlots[s] = i + 1;
+			}
+		}
+	}
+	
+	/**
+	 * Give a Dot where another with the same directions ended up
+	 * @param from Index of the Dot that was run
+	 * @param to Index of the Dot to give its result to
+	 */
+	private void copyResult(int from, int to) {
+		xs[to] = xs[from];
+		ys[to] = ys[from];
+		stepsTaken[to] = stepsTaken[from];
+		dead[to] = dead[from];
+		atGoal[to] = atGoal[from];
+		crashed[to] = crashed[from];
+		clearance[to] = clearance[from];
+	}
+	
+	/**
+	 * Count the cache's hits and remember the Dots that were run from the start, on one thread
+	 * Hits are marked as used first so the entries they came from are not the ones dropped for new results.
+	 * Only Dots at least as fit as the average are remembered; the rest are rarely picked as parents, so
+	 * copying their directions would cost more than the few hits it gets.
+	 */
+	private void updateCache() {
+		for (int i = 0; i < size; i++) {
+			if (reused[i] != null)
+				cache.hit(reused[i]);
+			else if (twinOf[i] >= 0)
+				cache.twin();
+		}
+		double mean = fitnessSum / size;
+		for (int i = 0; i < size; i++) {
+			if (hashed[i] && reused[i] == null && twinOf[i] < 0)
+				cache.miss(genomes.hash(i), genomes, i, xs[i], ys[i], stepsTaken[i], dead[i], atGoal[i], crashed[i], 
+						   clearance[i], minSteps, fitnesses[i] >= mean);
+		}
+	}
+	
+	/**
+	 * Run a Dot to the end of its trajectory, with the same rules as step
+	 * @param grid Obstacles indexed by position
+	 * @param i Index of the Dot
+	 */
+	private void rollout(ObstacleGrid grid, int i) {
+		double rad = Dot.RAD;
+		int steps = genomes.steps();
+		boolean hasObstacles = grid.size() > 0;
+		double goalX = goal.x();
+		double goalY = goal.y();
+		double goalRad = goal.rad();
+		
+		double x = xs[i];
+		double y = ys[i];
+		int taken = stepsTaken[i];
+		boolean isDead = dead[i];
+		boolean inGoal = atGoal[i];
+		boolean crash = crashed[i];
+		double clear = clearance[i];
+		
+		while (!isDead && !inGoal) {
+			//edge detection
+			if (x < rad) {
+				x = rad;
+				crash = true;
+			} else if (x > width - rad) {
+				x = width - rad;
+				crash = true;
+			}
 			
-			//Augment the dot graphically if it is the champion
-			if (i == 0) {
-				d.setColor(Color.GREEN);
-				d.setRad(6);
-				d.draw(g2);
+			if (y < rad) {
+				y = rad;
+				crash = true;
+			} else if (y > height - rad) {
+				y = height - rad;
+				crash = true;
+			}
+			
+			//Kill dot if its worse than best dot
+			if (taken > minSteps)
+				isDead = true;
+			
+			//Kill the dot if it hits an obstacle
+			if (hasObstacles && !isDead && !crash) {
+				if (multiObjective) {
+					double c = grid.clearance(x, y);
+					if (c < 0)
+						crash = true;
+					clear = Math.min(clear, Math.max(0, c));
+				} else if (grid.hits(x, y)) {
+					crash = true;
+				}
 			}
+			if (crash)
+				isDead = true;
 			
-			//Draw the dot
-			if (!showChampOnly)
-				d.draw(g2);
+			//Take a step if there are any left, else it is dead
+			if (!isDead) {
+				if (taken < steps) {
+					x += genomes.dx(i, taken);
+					y += genomes.dy(i, taken);
+					taken++;
+				} else {
+					isDead = true;
+				}
+			}
+			inGoal = Vec.within(x, y, goalX, goalY, goalRad);
 		}
+		
+		xs[i] = x;
+		ys[i] = y;
+		stepsTaken[i] = taken;
+		dead[i] = isDead;
+		atGoal[i] = inGoal;
+		crashed[i] = crash;
+		clearance[i] = clear;
+	}
+	
+	/**
+	 * Run a number of whole generations without drawing anything
+	 * @param numGens Number of generations to run
+	 */
+	public void run(int numGens) {
+		for (int i = 0; i < numGens; i++)
+			runGeneration();
+	}
+	
+	/**
+	 * Copy everything needed to draw the Population into a snapshot, so it can be drawn on another thread
+	 * while this one keeps evolving
+	 * @param f Snapshot to fill, reusing its arrays if they are big enough
+	 * @param minPossibleSteps Minimum possible number of steps to reach the goal
+	 */
+	public void snapshot(FrameSnapshot f, int minPossibleSteps) {
+		f.set(xs, ys, dead, atGoal, size, showChampOnly, goal, obstacles);
+		f.setStats(gen, accuracy(minPossibleSteps), maxFitness, minSteps);
 	}
 	
 	/**
@@ -153,68 +827,139 @@ public class Population {
 	}
 	
 	/**
-	 * Check if a Dot is within the goal
-	 * @param d Dot to check
-	 * @return If the dot is in the goal or not
+	 * Check if a point is within the goal
+	 * @param x X position of the point
+	 * @param y Y position of the point
+	 * @return If the point is in the goal or not
 	 */
-	private boolean withinGoal(Dot d) {
-		return Vec.diff(d, goal).mag() < goal.rad();
+	private boolean withinGoal(double x, double y) {
+		return Vec.within(x, y, goal.x(), goal.y(), goal.rad());
 	}
 	
 	/**
 	 * Evaluate the current generation and create the next one
 	 */
 	public void nextGeneration() {
-		calculateFitnessSum();
+		long t = startTiming();
+		if (!evaluated) {
+			calculateFitnessSum();
+			t = lap(PhaseTimer.Phase.FITNESS, t);
+		}
+		evaluated = false;
+		int limit = minSteps;
 		getChampion();
+		if (recorder != null)
+			recorder.record(genomes, bestDotIndex, stepsTaken[bestDotIndex], limit, maxFitness);
+		t = lap(PhaseTimer.Phase.CHAMPION, t);
+		if (timer != null)
+			timer.recordGeneration(stepsSum());
 		createNewPopulation();
+		t = lap(PhaseTimer.Phase.SELECTION, t);
 		mutate();
+		lap(PhaseTimer.Phase.MUTATE, t);
 		gen++;
+		bred = true;
+	}
+	
+	/**
+	 * Add up the steps every Dot took in the generation, counted while finding the champion
+	 * @return Total Dot steps
+	 */
+	private long stepsSum() {
+		long sum = 0;
+		for (int c = 0; c < chunkSteps.length; c++)
+			sum += chunkSteps[c];
+		return sum;
 	}
 	
 	/**
 	 * Sum up all the fitness values and assign the fitnesses
 	 */
 	private void calculateFitnessSum() {
-		fitnesses = new double[dots.length];
-		fitnessSum = 0;
-		for (int i = 0; i < dots.length; i++) {
-			fitnesses[i] = calcFitness(dots[i]);
-			fitnessSum += fitnesses[i];			
-		}
+		runner.forEachChunk(size, (c, from, to) -> {
+			double sum = 0;
+			for (int i = from; i < to; i++) {
+				fitnesses[i] = calcFitness(i);
+				sum += fitnesses[i];
+			}
+			chunkSums[c] = sum;
+		});
+		fitnessSum = sumChunks();
+	}
+	
+	/**
+	 * Add up the fitness sums of the chunks in order so the sum does not depend on the threads
+	 * @return Sum of the fitnesses
+	 */
+	private double sumChunks() {
+		double sum = 0;
+		for (int c = 0; c < chunkSums.length; c++)
+			sum += chunkSums[c];
+		return sum;
 	}
 	
 	/**
 	 * Calculate the fitness of a Dot
-	 * @param d Dot to evaluate
+	 * @param i Index of the Dot to evaluate
 	 * @return Fitness of the Dot
 	 */
-	private double calcFitness(Dot d) {
+	private double calcFitness(int i) {
 		//Much higher fitness if the dot reached the goal
-		if (d.isAtGoal())
-			return 1.0/16.0 + 10000.0/(d.stepsTaken() * d.stepsTaken());
+		if (atGoal[i])
+			return 1.0/16.0 + 10000.0/(stepsTaken[i] * stepsTaken[i]);
 		
 		//Higher fitness the closer the Dot is to the goal
-		double dist = Vec.diff(d, goal).mag();
-		return 1.0 / (dist * dist);
+		return 1.0 / Vec.distSq(xs[i], ys[i], goal.x(), goal.y());
 	}
 	
 	/**
 	 * Determine the best dot and update the min steps taken
 	 */
 	private void getChampion() {
+		runner.forEachChunk(size, (c, from, to) -> {
+			double max = 0;
+			int best = from;
+			int live = 0;
+			int home = 0;
+			long taken = 0;
+			for (int i = from; i < to; i++) {
+				if (fitnesses[i] > max) {
+					max = fitnesses[i];
+					best = i;
+				}
+				if (!crashed[i])
+					live++;
+				if (atGoal[i])
+					home++;
+				taken += stepsTaken[i];
+			}
+			chunkMaxes[c] = max;
+			chunkBests[c] = best;
+			chunkAlive[c] = live;
+			chunkAtGoal[c] = home;
+			chunkSteps[c] = taken;
+		});
+		
+		alive = 0;
+		reachedGoal = 0;
+		for (int c = 0; c < chunkAlive.length; c++) {
+			alive += chunkAlive[c];
+			reachedGoal += chunkAtGoal[c];
+		}
+		
+		//first Dot with the highest fitness wins, like a single pass would pick
 		maxFitness = 0;
 		bestDotIndex = 0;
-		for (int i = 0; i < fitnesses.length; i++) {
-			if (fitnesses[i] > maxFitness) {
-				maxFitness = fitnesses[i];
-				bestDotIndex = i;
+		for (int c = 0; c < chunkMaxes.length; c++) {
+			if (chunkMaxes[c] > maxFitness) {
+				maxFitness = chunkMaxes[c];
+				bestDotIndex = chunkBests[c];
 			}
 		}
 		
 		//only update minSteps if the dot reached the goal
-		if (dots[bestDotIndex].isAtGoal()) 
-			minSteps = dots[bestDotIndex].stepsTaken();
+		if (atGoal[bestDotIndex])
+			minSteps = stepsTaken[bestDotIndex];
 	}
 	
 	/**
@@ -226,74 +971,409 @@ public class Population {
 	}
 	
 	/**
-	 * Get the maximum fitness value of all the Dots
-	 * @return Maximum fitness value of all the Dots
+	 * Get how close the best solution is to the best possible one
+	 * @param minPossibleSteps Minimum possible number of steps to reach the goal
+	 * @return Ratio of minPossibleSteps to minSteps, 0 if no Dot has reached the goal yet
 	 */
-	public double maxFitness() {
-		return maxFitness;
+	public double accuracy(int minPossibleSteps) {
+		return minSteps == steps() ? 0 : ((double) minPossibleSteps / minSteps);
 	}
 	
 	/**
-	 * Create a new Population 
+	 * Save the current generation to a file so the run can be picked up again with resume()
+	 * The generation restarts from the beginning when resumed, so this is best called between generations.
+	 * The directions are copied straight into a memory-mapped file, so no copy of them is made on the heap.
+	 * The file is written next to the target, forced to the disk and only then moved over it, so neither a
+	 * crash of the program nor of the machine leaves a half-written checkpoint.
+	 * @param file File to save to
+	 * @throws IOException If the file cannot be written
 	 */
-	private void createNewPopulation() {
-		Dot[] newDots = new Dot[dots.length];
-		
-		//keep the champion
-		newDots[0] = getChild(dots[bestDotIndex]);
+	public void checkpoint(Path file) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(CHECKPOINT_HEADER + obstacles.size() * CIRCLE_BYTES);
+		header.order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(CHECKPOINT_MAGIC);
+		header.putInt(CHECKPOINT_VERSION);
+		header.putLong(seed);
+		header.putInt(size);
+		header.putInt(steps());
+		header.put((byte) genomes.layout().ordinal());
+		header.putDouble(width);
+		header.putDouble(height);
+		header.putDouble(start.x());
+		header.putDouble(start.y());
+		putCircle(header, goal);
+		header.putInt(gen);
+		header.putInt(minSteps);
+		header.putInt(bestDotIndex);
+		header.putDouble(maxFitness);
+		header.put((byte) (multiObjective ? 1 : 0));
+		header.put((byte) (showChampOnly ? 1 : 0));
+		header.putInt(obstacles.size());
+		for (Dot o : obstacles)
+			putCircle(header, o);
+		header.flip();
 		
-		//get the rest
-		for (int i = 1; i < newDots.length; i++) 
-			newDots[i] = getChild(selectParent());
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (FileChannel ch = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ, 
+												StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			long genesAt = header.remaining();
+			while (header.hasRemaining())
+				ch.write(header, header.position());
+			genomes.save(ch, genesAt);
+			ch.force(true);
+		}
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+	
+	/**
+	 * Pick up a run saved with checkpoint(), memory-mapping the directions back in
+	 * The selector, mutator (and so a mutation rate other than MUTATION_RATE), parallelism and drawing
+	 * settings other than showChampOnly are not saved, so set them again after resuming
+	 * @param file File to load
+	 * @return Population at the start of the saved generation, evolving exactly as the original would have
+	 * @throws IOException If the file cannot be read or is not a checkpoint
+	 */
+	public static Population resume(Path file) throws IOException {
+		try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+			ByteBuffer header = ByteBuffer.allocate(CHECKPOINT_HEADER).order(ByteOrder.LITTLE_ENDIAN);
+			readFully(ch, header, 0);
+			if (header.getInt() != CHECKPOINT_MAGIC)
+				throw new IOException(file + " is not a checkpoint");
+			int version = header.getInt();
+			if (version != CHECKPOINT_VERSION)
+				throw new IOException(file + " is checkpoint version " + version + ", expected " + CHECKPOINT_VERSION);
+			
+			long seed = header.getLong();
+			int size = header.getInt();
+			int steps = header.getInt();
+			int layout = header.get();
+			if (layout < 0 || layout >= Genomes.Layout.values().length)
+				throw new IOException(file + " has unknown genome layout " + layout);
+			double width = header.getDouble();
+			double height = header.getDouble();
+			Vec start = new Vec(header.getDouble(), header.getDouble());
+			Dot goal = getCircle(header, Color.BLUE);
+			Population p = new Population(size, start, steps, width, height, goal, seed, 
+											Genomes.Layout.values()[layout], false);
+			p.gen = header.getInt();
+			p.minSteps = header.getInt();
+			p.bestDotIndex = header.getInt();
+			p.maxFitness = header.getDouble();
+			p.setMultiObjective(header.get() != 0);
+			p.showChampOnly = header.get() != 0;
+			
+			int numObstacles = header.getInt();
+			ByteBuffer circles = ByteBuffer.allocate(numObstacles * CIRCLE_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+			readFully(ch, circles, CHECKPOINT_HEADER);
+			for (int k = 0; k < numObstacles; k++)
+				p.addObstacle(getCircle(circles, Color.GRAY));
+			
+			p.genomes.load(ch, CHECKPOINT_HEADER + circles.capacity());
+			return p;
+		}
+	}
+	
+	/**
+	 * Read from a file until a buffer is full
+	 * @param ch File to read from
+	 * @param buf Buffer to fill, flipped afterwards
+	 * @param pos Position in the file to start at
+	 * @throws IOException If the file ends first
+	 */
+	private static void readFully(FileChannel ch, ByteBuffer buf, long pos) throws IOException {
+		while (buf.hasRemaining()) {
+			if (ch.read(buf, pos + buf.position()) < 0)
+				throw new EOFException("Checkpoint is cut short");
+		}
+		buf.flip();
+	}
+	
+	/**
+	 * Write a circle as (x, y, radius)
+	 * @param buf Buffer to write to
+	 * @param d Circle to write
+	 */
+	private static void putCircle(ByteBuffer buf, Dot d) {
+		buf.putDouble(d.x());
+		buf.putDouble(d.y());
+		buf.putInt(d.rad());
+	}
+	
+	/**
+	 * Read a circle written by putCircle()
+	 * @param buf Buffer to read from
+	 * @param color Color of the circle
+	 * @return Circle as a Dot with no steps
+	 */
+	private static Dot getCircle(ByteBuffer buf, Color color) {
+		Dot d = new Dot(buf.getDouble(), buf.getDouble(), color);
+		d.setRad(buf.getInt());
+		return d;
+	}
+	
+	/**
+	 * Save everything a recorded champion needs to be run again the same way: the space, the goal, the
+	 * obstacles and the rules the Dots are killed by
+	 * @return Little-endian buffer to be read by replay(), flipped
+	 */
+	ByteBuffer setup() {
+		ByteBuffer buf = ByteBuffer.allocate(SETUP_BYTES + obstacles.size() * CIRCLE_BYTES);
+		buf.order(ByteOrder.LITTLE_ENDIAN);
+		buf.putLong(seed);
+		buf.putInt(size);
+		buf.putInt(steps());
+		buf.put((byte) genomes.layout().ordinal());
+		buf.putDouble(width);
+		buf.putDouble(height);
+		buf.putDouble(start.x());
+		buf.putDouble(start.y());
+		putCircle(buf, goal);
+		buf.put((byte) (multiObjective ? 1 : 0));
+		buf.putInt(obstacles.size());
+		for (Dot o : obstacles)
+			putCircle(buf, o);
+		buf.flip();
+		return buf;
+	}
+	
+	/**
+	 * Create a Population of just a recorded champion in the space it was recorded in, at the start of its
+	 * generation; stepping it moves the champion along the same trajectory as when it was recorded
+	 * @param setup Buffer written by setup(), read from its position
+	 * @param champion Directions of the champion in slot 0
+	 * @param gen Generation the champion is from
+	 * @param limit Steps taken by the best Dot before that generation, the champion dies if it takes more
+	 * @param fitness Fitness the champion was recorded with
+	 * @return Population of one Dot
+	 * @throws IOException If the setup is not one written by setup()
+	 */
+	static Population replay(ByteBuffer setup, Genomes champion, int gen, int limit, double fitness) 
+			throws IOException {
+		long seed = setup.getLong();
+		setup.getInt();
+		int steps = setup.getInt();
+		int layout = setup.get();
+		if (layout < 0 || layout >= Genomes.Layout.values().length)
+			throw new IOException("Unknown genome layout " + layout);
+		double width = setup.getDouble();
+		double height = setup.getDouble();
+		Vec start = new Vec(setup.getDouble(), setup.getDouble());
+		Dot goal = getCircle(setup, Color.BLUE);
+		Population p = new Population(1, start, steps, width, height, goal, seed, Genomes.Layout.values()[layout], 
+										false);
+		p.setMultiObjective(setup.get() != 0);
+		int numObstacles = setup.getInt();
+		for (int k = 0; k < numObstacles; k++)
+			p.addObstacle(getCircle(setup, Color.GRAY));
 		
-		dots = newDots.clone();
+		champion.copy(0, p.genomes, 0);
+		p.gen = gen;
+		p.minSteps = limit;
+		p.maxFitness = fitness;
+		p.showChampOnly = true;
+		return p;
+	}
+	
+	/**
+	 * Get the width of the space the Population is in
+	 * @return Width of the space
+	 */
+	public double width() {
+		return width;
 	}
 	
 	/**
-	 * Select a parent for a new generation
-	 * @return New parent
+	 * Get the height of the space the Population is in
+	 * @return Height of the space
 	 */
-	private Dot selectParent() {
-		//Choose a random fitness
-		double randFitness = Math.random() * fitnessSum;
-		double runningSum = 0;
+	public double height() {
+		return height;
+	}
+	
+	/**
+	 * Get the fewest steps a Dot could reach the goal in, going straight there
+	 * @return Distance from the start point to the goal in steps, rounded up
+	 */
+	public int minPossibleSteps() {
+		return (int) Math.ceil(Vec.diff(goal, start).mag() / Dot.STEP_SIZE);
+	}
+	
+	/**
+	 * Get how the steps of the Dots are stored
+	 * @return Layout of the Genomes
+	 */
+	public Genomes.Layout layout() {
+		return genomes.layout();
+	}
+	
+	/**
+	 * Create an empty set of Genomes the same shape as this Population's, to hold migrants
+	 * @param count Number of Dots it holds
+	 * @return Empty Genomes
+	 */
+	public Genomes createGenomes(int count) {
+		return Genomes.create(count, steps(), genomes.layout());
+	}
+	
+	/**
+	 * Copy the directions of the fittest Dots of the last finished generation, fittest first
+	 * @param k Number of Dots to copy
+	 * @param out Genomes to copy into, starting at index 0
+	 * @return Number of Dots copied, 0 if no generation has finished since the Population was created or
+	 * resumed, as a checkpoint only holds the generation to come
+	 */
+	public int exportElite(int k, Genomes out) {
+		if (!bred)
+			return 0;
 		
-		//This increases the probability of dots with higher fitnesses to be chosen
-		for (int i = 0; i < fitnesses.length; i++) {
-			runningSum += fitnesses[i];
-			if (runningSum > randFitness)
-				return dots[i];
+		//the last generation was swapped out into nextGenomes and the fitnesses still belong to it
+		int[] best = fittest(Math.min(k, Math.min(size, out.size())));
+		for (int m = 0; m < best.length; m++)
+			nextGenomes.copy(best[m], out, m);
+		return best.length;
+	}
+	
+	/**
+	 * Replace the directions of the last Dots of the current generation with migrants
+	 * Call between generations, the champion in slot 0 is never replaced
+	 * @param in Genomes of the migrants
+	 * @param count Number of migrants to take from the start of in
+	 */
+	public void importMigrants(Genomes in, int count) {
+		count = Math.min(count, size - 1);
+		for (int m = 0; m < count; m++)
+			in.copy(m, genomes, size - 1 - m);
+	}
+	
+	/**
+	 * Find the Dots with the highest fitnesses
+	 * @param k Number of Dots to find
+	 * @return Indices of the k fittest Dots, fittest first
+	 */
+	private int[] fittest(int k) {
+		int[] best = new int[k];
+		int found = 0;
+		for (int i = 0; i < size; i++) {
+			//skip Dots that would not make the list
+			if (found == k && fitnesses[i] <= fitnesses[best[k - 1]])
+				continue;
+			
+			//insert it in order
+			int j = found < k ? found++ : k - 1;
+			while (j > 0 && fitnesses[best[j - 1]] < fitnesses[i]) {
+				best[j] = best[j - 1];
+				j--;
+			}
+			best[j] = i;
 		}
-		
-		//Never gets here
-		return null;
+		return best;
+	}
+	
+	/**
+	 * Get the maximum fitness value of all the Dots
+	 * @return Maximum fitness value of all the Dots
+	 */
+	public double maxFitness() {
+		return maxFitness;
 	}
 	
 	/**
-	 * Get a Dot's child
-	 * @param d Dot to get child from
-	 * @return The dot's child
+	 * Get how many Dots of the last evaluated generation were not killed by an edge or an obstacle
+	 * The same whether the generation was stepped or rolled out
+	 * @return Number of Dots that reached the goal, ran out of steps or were cut off for taking more steps
+	 * than the best Dot
 	 */
-	private Dot getChild(Dot d) {
-		Dot baby = new Dot((int) start.x(), (int) start.y(), Color.WHITE, d.rad());
-		baby.setDirections(d.directions());
-		return baby;
+	public int aliveCount() {
+		return alive;
 	}
 	
 	/**
-	 * Mutate the population
+	 * Get how many Dots of the last evaluated generation reached the goal
+	 * @return Number of Dots that reached the goal
+	 */
+	public int atGoalCount() {
+		return reachedGoal;
+	}
+	
+	/**
+	 * Get the sum of the fitnesses of the last evaluated generation
+	 * @return Sum of the fitnesses
 	 */
-	private void mutate() {
-		//Don't mutate the champion
-		for (int i = 1; i < dots.length; i++) {
-			Dot d = dots[i];
+	public double fitnessSum() {
+		return fitnessSum;
+	}
+	
+	/**
+	 * Create a new Population
+	 */
+	private void createNewPopulation() {
+		//choose parents by fitness or by Pareto rank
+		if (multiObjective)
+			selector.prepare(scores, calculateScores());
+		else
+			selector.prepare(fitnesses, fitnessSum);
+		
+		runner.forEachChunk(size, (c, from, to) -> {
+			Rng rand = chunkRng(SELECT_STREAM, c);
+			for (int i = from; i < to; i++) {
+				//keep the champion, get the rest from selected parents
+				genomes.copy(i == 0 ? bestDotIndex : selector.select(rand), nextGenomes, i);
+			}
 			
-			//Mutate a percentage of all the steps
-			for (int j = 0; j < d.numSteps(); j++) {
-				if (Math.random() < MUTATION_RATE) 
-					d.setDirection(j, Dot.randomVec(Dot.STEP_SIZE));
+			//start the children from the start point
+			resetDots(c, from, to);
+		});
+		moving = size;
+		
+		//swap the buffers
+		Genomes temp = genomes;
+		genomes = nextGenomes;
+		nextGenomes = temp;
+	}
+	
+	/**
+	 * Rank the Dots on their objectives and score them so a higher score is a better rank
+	 * A Dot in a better front always scores higher, and within a front a less crowded Dot scores higher
+	 * @return Sum of the scores
+	 */
+	private double calculateScores() {
+		//distance and steps to the goal, and how close the Dot came to an obstacle if there are any
+		int numObjectives = obstacles.isEmpty() ? 2 : 3;
+		if (objectives == null || objectives.length != numObjectives)
+			objectives = new double[numObjectives][size];
+		
+		int steps = genomes.steps();
+		runner.forEachChunk(size, (c, from, to) -> {
+			for (int i = from; i < to; i++) {
+				objectives[0][i] = atGoal[i] ? 0 : Vec.dist(xs[i], ys[i], goal.x(), goal.y());
+				objectives[1][i] = atGoal[i] ? stepsTaken[i] : steps;
+				if (numObjectives == 3)
+					objectives[2][i] = -Math.min(clearance[i], width + height);
 			}
+		});
+		sorter.sort(objectives);
+		
+		//front first, then crowding squashed into [0, 1) so even an infinite one stays below the next front
+		int[] ranks = sorter.ranks();
+		double[] crowding = sorter.crowding();
+		int numFronts = sorter.numFronts();
+		double sum = 0;
+		for (int i = 0; i < size; i++) {
+			double crowd = Double.isInfinite(crowding[i]) ? 1 : crowding[i] / (1 + crowding[i]);
+			scores[i] = numFronts - ranks[i] + crowd / (1 + CROWDING_EPSILON);
+			sum += scores[i];
 		}
+		return sum;
+	}
+	
+	/**
+	 * Mutate the population
+	 */
+	void mutate() {
+		runner.forEachChunk(size, (c, from, to) -> {
+			//Don't mutate the champion
+			mutator.mutate(genomes, Math.max(from, 1), to, chunkRng(MUTATE_STREAM, c));
+		});
 	}
 	
 	/**
@@ -301,11 +1381,7 @@ public class Population {
 	 * @return If current generation is finished
 	 */
 	public boolean isGenFinished() {
-		for (int i = 0; i < dots.length; i++) {
-			//Generation is finished all Dots are dead or a Dot is at the goal
-			if (!dots[i].isDead() && !dots[i].isAtGoal())
-				return false;
-		}
-		return true;
+		//Generation is finished when every Dot is dead or at the goal
+		return moving == 0;
 	}
-}
\ No newline at end of file
+}
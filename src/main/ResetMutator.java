@@ -0,0 +1,30 @@
+/**
+ * ResetMutator
+ * Author: agent
+ * Created on: 18/10/2026
+ * Mutation that points a step in a completely new random direction
+ */
+
+package main;
+
+public class ResetMutator extends SparseMutator {
+	
+	/**
+	 * Create a ResetMutator
+	 * @param rate Chance of each step mutating (0-1)
+	 */
+	public ResetMutator(double rate) {
+		super(rate);
+	}
+	
+	/**
+	 * Point a step in a random direction
+	 * @param genomes Directions of every Dot
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @param rand Random number generator of the calling chunk
+	 */
+	protected void mutateStep(Genomes genomes, int dot, int step, Rng rand) {
+		genomes.setAngle(dot, step, rand.nextAngle());
+	}
+}
@@ -0,0 +1,134 @@
+/**
+ * Rng
+ * Author: agent
+ * Created on: 18/10/2026
+ * Fast seeded random number generator (SplitMix64) that can be split into independent streams
+ */
+
+package main;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class Rng {
+	//Constants
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;	//Increment of the state per number
+	private static final double DOUBLE_UNIT = 0x1.0p-53;				//Scales 53 random bits to [0, 1)
+	private static final AtomicLong SEEDER = new AtomicLong(System.nanoTime());	//Source of clock seeds
+	
+	//Attributes
+	private long state;		//Current state of the generator
+	
+	/**
+	 * Create an Rng
+	 * @param seed Seed of the stream
+	 */
+	public Rng(long seed) {
+		this.state = seed;
+	}
+	
+	/**
+	 * Create an Rng seeded from the clock, different for every call
+	 */
+	public Rng() {
+		this(randomSeed());
+	}
+	
+	/**
+	 * Get a seed from the clock, different for every call
+	 * @return Seed
+	 */
+	public static long randomSeed() {
+		return mix(SEEDER.addAndGet(GOLDEN_GAMMA) ^ System.nanoTime());
+	}
+	
+	/**
+	 * Restart the generator on a new seed without creating a new one
+	 * @param seed Seed of the stream
+	 */
+	public void setSeed(long seed) {
+		this.state = seed;
+	}
+	
+	/**
+	 * Derive the seed of an independent stream from a master seed and a set of keys
+	 * The same master seed and keys always give the same stream, no matter which thread asks for it
+	 * @param seed Master seed
+	 * @param keys Keys identifying the stream, e.g. generation, phase and chunk
+	 * @return Seed of the stream
+	 */
+	public static long streamSeed(long seed, long... keys) {
+		long s = mix(seed);
+		for (long k : keys)
+			s = mix(s ^ mix(k + GOLDEN_GAMMA));
+		return s;
+	}
+	
+	/**
+	 * Scramble the bits of a number (the SplitMix64 finalizer)
+	 * @param z Number to scramble
+	 * @return Scrambled number
+	 */
+	public static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+	
+	/**
+	 * Get a random long
+	 * @return Random long
+	 */
+	public long nextLong() {
+		state += GOLDEN_GAMMA;
+		return mix(state);
+	}
+	
+	/**
+	 * Get a random double
+	 * @return Random double in [0, 1)
+	 */
+	public double nextDouble() {
+		return (nextLong() >>> 11) * DOUBLE_UNIT;
+	}
+	
+	/**
+	 * Get a random integer
+	 * @param bound Upper bound, must be positive
+	 * @return Random integer in [0, bound)
+	 */
+	public int nextInt(int bound) {
+		//take the high bits of a 32x32 multiply, the bias is at most bound / 2^32
+		return (int) (((nextLong() >>> 32) * bound) >>> 32);
+	}
+	
+	/**
+	 * Get a random angle
+	 * @return Random angle in [0, 2PI) radians
+	 */
+	public double nextAngle() {
+		return nextDouble() * 2 * Math.PI;
+	}
+	
+	/**
+	 * Get a normally distributed random number (Marsaglia polar method, the spare is thrown away so the
+	 * generator has no state besides its seed)
+	 * @return Random number with mean 0 and standard deviation 1
+	 */
+	public double nextGaussian() {
+		double u, v, s;
+		do {
+			u = 2 * nextDouble() - 1;
+			v = 2 * nextDouble() - 1;
+			s = u * u + v * v;
+		} while (s >= 1 || s == 0);
+		return u * Math.sqrt(-2 * Math.log(s) / s);
+	}
+	
+	/**
+	 * Create a new generator whose stream is independent of this one
+	 * @return New generator
+	 */
+	public Rng split() {
+		return new Rng(mix(nextLong()));
+	}
+}
@@ -0,0 +1,51 @@
+/**
+ * RouletteSelector
+ * Author: agent
+ * Created on: 18/10/2026
+ * Fitness proportionate selection with a binary search over prefix sums
+ */
+
+package main;
+
+public class RouletteSelector implements Selector {
+	//Attributes
+	private double[] prefixSums;		//Running sum of the fitnesses up to and including each Dot
+	
+	/**
+	 * Build the running sums of the fitnesses in O(n)
+	 * @param fitnesses Fitnesses of each Dot
+	 * @param fitnessSum Sum of the fitnesses
+	 */
+	public void prepare(double[] fitnesses, double fitnessSum) {
+		if (prefixSums == null || prefixSums.length != fitnesses.length)
+			prefixSums = new double[fitnesses.length];
+		
+		double runningSum = 0;
+		for (int i = 0; i < fitnesses.length; i++) {
+			runningSum += fitnesses[i];
+			prefixSums[i] = runningSum;
+		}
+	}
+	
+	/**
+	 * Select a parent in O(log n), Dots with higher fitnesses are more likely to be chosen
+	 * @param rand Random number generator of the calling chunk
+	 * @return Index of the parent
+	 */
+	public int select(Rng rand) {
+		//Choose a random fitness
+		double randFitness = rand.nextDouble() * prefixSums[prefixSums.length - 1];
+		
+		//Find the first Dot whose running sum is above it
+		int lo = 0;
+		int hi = prefixSums.length - 1;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (prefixSums[mid] > randFitness)
+				hi = mid;
+			else
+				lo = mid + 1;
+		}
+		return lo;
+	}
+}
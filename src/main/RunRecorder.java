@@ -0,0 +1,212 @@
+/**
+ * RunRecorder
+ * Author: agent
+ * Created on: 18/10/2026
+ * Records a run as its setup and the champion of every generation, for RunRecording to replay
+ * Each champion is stored as the steps that differ from the last one, since most of them are the same;
+ * only the steps it actually took are kept, as the rest cannot change its trajectory
+ */
+
+package main;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class RunRecorder implements Closeable {
+	//Constants
+	static final int MAGIC = 0x47414452;			//"GADR" at the start of every recording
+	static final int VERSION = 1;					//Layout of the recording
+	static final int KEYFRAME_INTERVAL = 256;		//Most generations between champions stored in full
+	static final int HEADER_BYTES = 5 * Integer.BYTES + 1;	//Size before the Population's setup
+	
+	//Attributes
+	private FileChannel ch;				//File being written
+	private Genomes last;				//Last champion as a reader of the recording rebuilds it
+	private boolean angles;				//Whether steps are stored as angle levels instead of (dx,dy) pairs
+	private int sinceKeyframe;			//Generations since the last champion stored in full
+	private int[] changed;				//Steps of the champion that differ from the last one
+	private ByteBuffer buf;				//Record of one generation, written in one go
+	private IOException error;			//First error writing, reported on close
+	
+	/**
+	 * Start a recording of a Population, then hand it to Population.setRecorder()
+	 * The file is written as each generation finishes, so it can be replayed up to the last one even if
+	 * the run never closes it
+	 * @param file File to write, replaced if it exists
+	 * @param p Population to record, with its obstacles already added
+	 * @throws IOException If the file cannot be written
+	 */
+	public RunRecorder(Path file, Population p) throws IOException {
+		this.ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+									StandardOpenOption.TRUNCATE_EXISTING);
+		int steps = p.steps();
+		this.angles = p.layout() == Genomes.Layout.ANGLES;
+		this.last = Genomes.create(1, steps, angles ? Genomes.Layout.ANGLES : Genomes.Layout.DOUBLES);
+		this.changed = new int[steps];
+		this.sinceKeyframe = KEYFRAME_INTERVAL;
+		
+		//biggest record is a champion in full
+		this.buf = ByteBuffer.allocate(4 * 5 + Double.BYTES + steps * valueBytes(angles));
+		buf.order(ByteOrder.LITTLE_ENDIAN);
+		
+		ByteBuffer setup = p.setup();
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(MAGIC);
+		header.putInt(VERSION);
+		header.putInt(steps);
+		header.put((byte) (angles ? 1 : 0));
+		header.putInt(p.gen());
+		header.putInt(setup.remaining());
+		header.flip();
+		writeFully(header);
+		writeFully(setup);
+	}
+	
+	/**
+	 * Get the size of a stored step
+	 * @param angles Whether steps are stored as angle levels
+	 * @return Bytes per step
+	 */
+	static int valueBytes(boolean angles) {
+		return angles ? Short.BYTES : 2 * Double.BYTES;
+	}
+	
+	/**
+	 * Record the champion of the generation that just finished, called by Population
+	 * Never throws, the first error is kept and reported by close()
+	 * @param genomes Directions of every Dot
+	 * @param dot Index of the champion
+	 * @param used Steps the champion took
+	 * @param limit Steps taken by the best Dot before this generation
+	 * @param fitness Fitness of the champion
+	 */
+	void record(Genomes genomes, int dot, int used, int limit, double fitness) {
+		if (error != null)
+			return;
+		
+		int numChanged = 0;
+		for (int j = 0; j < used; j++) {
+			if (!sameStep(genomes, dot, j))
+				changed[numChanged++] = j;
+		}
+		
+		//store the champion in full if the changes would take about as much room, or to bound replay time
+		boolean keyframe = sinceKeyframe >= KEYFRAME_INTERVAL || (numChanged + 1) * (valueBytes(angles) + 1) >=
+							used * valueBytes(angles);
+		buf.clear();
+		putVarInt(buf, limit);
+		putVarInt(buf, used);
+		buf.putDouble(fitness);
+		if (keyframe) {
+			putVarInt(buf, 1);
+			for (int j = 0; j < used; j++)
+				putStep(genomes, dot, j);
+			for (int j = used; j < last.steps(); j++)
+				last.set(0, j, 0, 0);
+			sinceKeyframe = 0;
+		} else {
+			putVarInt(buf, numChanged << 1);
+			int prev = -1;
+			for (int k = 0; k < numChanged; k++) {
+				putVarInt(buf, changed[k] - prev - 1);
+				putStep(genomes, dot, changed[k]);
+				prev = changed[k];
+			}
+		}
+		sinceKeyframe++;
+		buf.flip();
+		
+		try {
+			writeFully(buf);
+		} catch (IOException e) {
+			error = e;
+		}
+	}
+	
+	/**
+	 * Check whether a step of the champion is the same as in the last one, to the bit
+	 * @param genomes Directions of every Dot
+	 * @param dot Index of the champion
+	 * @param j Index of the step
+	 * @return True if the step does not need to be stored
+	 */
+	private boolean sameStep(Genomes genomes, int dot, int j) {
+		if (angles)
+			return AngleGenomes.level(genomes.angle(dot, j)) == AngleGenomes.level(last.angle(0, j));
+		return Double.doubleToLongBits(genomes.dx(dot, j)) == Double.doubleToLongBits(last.dx(0, j)) &&
+				Double.doubleToLongBits(genomes.dy(dot, j)) == Double.doubleToLongBits(last.dy(0, j));
+	}
+	
+	/**
+	 * Store a step of the champion and remember it as the last one
+	 * @param genomes Directions of every Dot
+	 * @param dot Index of the champion
+	 * @param j Index of the step
+	 */
+	private void putStep(Genomes genomes, int dot, int j) {
+		if (angles) {
+			int level = AngleGenomes.level(genomes.angle(dot, j));
+			buf.putShort((short) level);
+			((AngleGenomes) last).setLevel(0, j, level);
+		} else {
+			double dx = genomes.dx(dot, j);
+			double dy = genomes.dy(dot, j);
+			buf.putDouble(dx);
+			buf.putDouble(dy);
+			last.set(0, j, dx, dy);
+		}
+	}
+	
+	/**
+	 * Write a whole number in as few bytes as it needs, 7 bits a byte
+	 * @param buf Buffer to write to
+	 * @param v Number to write, not negative
+	 */
+	static void putVarInt(ByteBuffer buf, int v) {
+		while ((v & ~0x7F) != 0) {
+			buf.put((byte) ((v & 0x7F) | 0x80));
+			v >>>= 7;
+		}
+		buf.put((byte) v);
+	}
+	
+	/**
+	 * Read a whole number written by putVarInt()
+	 * @param buf Buffer to read from
+	 * @return Number read
+	 */
+	static int getVarInt(ByteBuffer buf) {
+		int v = 0;
+		for (int shift = 0; ; shift += 7) {
+			byte b = buf.get();
+			v |= (b & 0x7F) << shift;
+			if (b >= 0)
+				return v;
+		}
+	}
+	
+	/**
+	 * Write all of a buffer at the end of the file
+	 * @param b Buffer to write
+	 * @throws IOException If the file cannot be written
+	 */
+	private void writeFully(ByteBuffer b) throws IOException {
+		while (b.hasRemaining())
+			ch.write(b);
+	}
+	
+	/**
+	 * Stop recording and close the file
+	 * @throws IOException If writing failed at any point
+	 */
+	public void close() throws IOException {
+		ch.close();
+		if (error != null)
+			throw error;
+	}
+}
@@ -0,0 +1,211 @@
+/**
+ * RunRecording
+ * Author: agent
+ * Created on: 18/10/2026
+ * Recording written by RunRecorder, read into memory and indexed so the champion of any generation can
+ * be rebuilt and run again on demand without evolving anything
+ */
+
+package main;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class RunRecording {
+	//Attributes
+	private ByteBuffer data;			//Whole file
+	private ByteBuffer setup;			//Space the run was recorded in, from Population.setup()
+	private boolean angles;				//Whether steps are stored as angle levels instead of (dx,dy) pairs
+	private int firstGen;				//Generation of the first champion
+	private int count;					//Number of champions recorded
+	private int[] offsets;				//Position of each generation's record in the file
+	private int[] limits;				//Steps taken by the best Dot before each generation
+	private int[] used;					//Steps taken by each champion
+	private double[] fitnesses;			//Fitness of each champion
+	private boolean[] keyframes;		//Whether each champion is stored in full
+	private Genomes champion;			//Champion rebuilt by the last call to champion()
+	
+	/**
+	 * Read a recording and index its generations
+	 * A generation cut short by the run stopping partway through writing it is left out
+	 * @param file File written by RunRecorder
+	 * @throws IOException If the file cannot be read or is not a recording
+	 */
+	public RunRecording(Path file) throws IOException {
+		data = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+		if (data.remaining() < RunRecorder.HEADER_BYTES || data.getInt() != RunRecorder.MAGIC)
+			throw new IOException(file + " is not a run recording");
+		int version = data.getInt();
+		if (version != RunRecorder.VERSION)
+			throw new IOException(file + " is recording version " + version + ", expected " + RunRecorder.VERSION);
+		
+		int steps = data.getInt();
+		angles = data.get() != 0;
+		firstGen = data.getInt();
+		int setupBytes = data.getInt();
+		if (data.remaining() < setupBytes)
+			throw new IOException(file + " is cut short");
+		setup = data.slice(data.position(), setupBytes).order(ByteOrder.LITTLE_ENDIAN);
+		data.position(data.position() + setupBytes);
+		champion = Genomes.create(1, steps, angles ? Genomes.Layout.ANGLES : Genomes.Layout.DOUBLES);
+		index();
+	}
+	
+	/**
+	 * Find where each generation's record starts, skipping over the steps
+	 */
+	private void index() {
+		int capacity = 1024;
+		offsets = new int[capacity];
+		limits = new int[capacity];
+		used = new int[capacity];
+		fitnesses = new double[capacity];
+		keyframes = new boolean[capacity];
+		int valueBytes = RunRecorder.valueBytes(angles);
+		
+		while (data.hasRemaining()) {
+			int at = data.position();
+			try {
+				int limit = RunRecorder.getVarInt(data);
+				int taken = RunRecorder.getVarInt(data);
+				double fitness = data.getDouble();
+				int kind = RunRecorder.getVarInt(data);
+				if (kind == 1) {
+					skip(taken * valueBytes);
+				} else {
+					for (int k = 0; k < kind >>> 1; k++) {
+						RunRecorder.getVarInt(data);
+						skip(valueBytes);
+					}
+				}
+				
+				if (count == capacity) {
+					capacity *= 2;
+					offsets = Arrays.copyOf(offsets, capacity);
+					limits = Arrays.copyOf(limits, capacity);
+					used = Arrays.copyOf(used, capacity);
+					fitnesses = Arrays.copyOf(fitnesses, capacity);
+					keyframes = Arrays.copyOf(keyframes, capacity);
+				}
+				offsets[count] = at;
+				limits[count] = limit;
+				used[count] = taken;
+				fitnesses[count] = fitness;
+				keyframes[count] = kind == 1;
+				count++;
+			} catch (BufferUnderflowException | IllegalArgumentException e) {
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * Move past bytes of the file
+	 * @param n Number of bytes
+	 */
+	private void skip(int n) {
+		if (n > data.remaining())
+			throw new BufferUnderflowException();
+		data.position(data.position() + n);
+	}
+	
+	/**
+	 * Get the generation of the first champion
+	 * @return Generation number
+	 */
+	public int firstGen() {
+		return firstGen;
+	}
+	
+	/**
+	 * Get the generation of the last champion
+	 * @return Generation number, firstGen() - 1 if nothing was recorded
+	 */
+	public int lastGen() {
+		return firstGen + count - 1;
+	}
+	
+	/**
+	 * Get the fitness a champion was recorded with
+	 * @param gen Generation of the champion
+	 * @return Fitness of the champion
+	 */
+	public double fitness(int gen) {
+		return fitnesses[gen - firstGen];
+	}
+	
+	/**
+	 * Get the number of steps a champion took
+	 * @param gen Generation of the champion
+	 * @return Steps taken
+	 */
+	public int stepsTaken(int gen) {
+		return used[gen - firstGen];
+	}
+	
+	/**
+	 * Rebuild the directions of a champion from the last one stored in full before it
+	 * @param gen Generation of the champion, from firstGen() to lastGen()
+	 * @return Directions of the champion in slot 0, overwritten by the next call
+	 */
+	public Genomes champion(int gen) {
+		int g = gen - firstGen;
+		if (g < 0 || g >= count)
+			throw new IllegalArgumentException("Generation " + gen + " was not recorded");
+		int from = g;
+		while (!keyframes[from])
+			from--;
+		
+		for (int k = from; k <= g; k++) {
+			ByteBuffer rec = data.duplicate().order(ByteOrder.LITTLE_ENDIAN).position(offsets[k]);
+			RunRecorder.getVarInt(rec);
+			int taken = RunRecorder.getVarInt(rec);
+			rec.getDouble();
+			int kind = RunRecorder.getVarInt(rec);
+			if (kind == 1) {
+				for (int j = 0; j < taken; j++)
+					getStep(rec, j);
+				for (int j = taken; j < champion.steps(); j++)
+					champion.set(0, j, 0, 0);
+			} else {
+				int j = -1;
+				for (int c = 0; c < kind >>> 1; c++) {
+					j += RunRecorder.getVarInt(rec) + 1;
+					getStep(rec, j);
+				}
+			}
+		}
+		return champion;
+	}
+	
+	/**
+	 * Read a stored step into the champion
+	 * @param rec Record to read from
+	 * @param j Index of the step
+	 */
+	private void getStep(ByteBuffer rec, int j) {
+		if (angles)
+			((AngleGenomes) champion).setLevel(0, j, rec.getShort() & 0xFFFF);
+		else
+			champion.set(0, j, rec.getDouble(), rec.getDouble());
+	}
+	
+	/**
+	 * Create a Population of just a champion in the space it was recorded in; stepping it until the
+	 * generation is finished moves the champion along the trajectory it took in the run
+	 * @param gen Generation of the champion, from firstGen() to lastGen()
+	 * @return Population of one Dot at the start point
+	 * @throws IOException If the recorded space cannot be read
+	 */
+	public Population replay(int gen) throws IOException {
+		Genomes dirs = champion(gen);
+		int g = gen - firstGen;
+		return Population.replay(setup.duplicate().order(ByteOrder.LITTLE_ENDIAN), dirs, gen, limits[g],
+								 fitnesses[g]);
+	}
+}
@@ -0,0 +1,25 @@
+/**
+ * Selector
+ * Author: agent
+ * Created on: 18/10/2026
+ * Strategy for choosing parents for the next generation
+ */
+
+package main;
+
+public interface Selector {
+	
+	/**
+	 * Prepare to select parents from a generation, called once per generation before any select
+	 * @param fitnesses Fitnesses of each Dot
+	 * @param fitnessSum Sum of the fitnesses
+	 */
+	void prepare(double[] fitnesses, double fitnessSum);
+	
+	/**
+	 * Select a parent, must be safe to call from several threads at once after prepare
+	 * @param rand Random number generator of the calling chunk
+	 * @return Index of the parent
+	 */
+	int select(Rng rand);
+}
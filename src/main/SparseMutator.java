@@ -0,0 +1,76 @@
+/**
+ * SparseMutator
+ * Author: agent
+ * Created on: 18/10/2026
+ * Mutation of each step independently with a fixed probability, jumping straight from one mutated step to the next
+ */
+
+package main;
+
+public abstract class SparseMutator implements Mutator {
+	//Attributes
+	private double rate;			//Chance of each step mutating
+	private double logKeep;			//Natural log of the chance of a step not mutating
+	
+	/**
+	 * Create a SparseMutator
+	 * @param rate Chance of each step mutating (0-1)
+	 */
+	public SparseMutator(double rate) {
+		this.rate = Math.max(0, Math.min(1, rate));
+		this.logKeep = Math.log1p(-this.rate);
+	}
+	
+	/**
+	 * Get the chance of each step mutating
+	 * @return Mutation rate (0-1)
+	 */
+	public double rate() {
+		return rate;
+	}
+	
+	/**
+	 * Mutate each step in the range with probability rate
+	 * The gap between mutated steps is geometric, so it is drawn directly instead of rolling for every step;
+	 * the work is proportional to the number of steps mutated rather than the number of steps
+	 * @param genomes Directions of every Dot
+	 * @param from Index of the first Dot to mutate
+	 * @param to Index after the last Dot to mutate
+	 * @param rand Random number generator of the calling chunk
+	 */
+	public void mutate(Genomes genomes, int from, int to, Rng rand) {
+		if (rate == 0)
+			return;
+		
+		//walk the steps of the range as one flat run
+		int steps = genomes.steps();
+		long end = (long) (to - from) * steps;
+		for (long k = gap(rand); k < end; k += 1 + gap(rand)) {
+			int dot = from + (int) (k / steps);
+			mutateStep(genomes, dot, (int) (k % steps), rand);
+		}
+	}
+	
+	/**
+	 * Draw the number of steps skipped before the next mutated one
+	 * @param rand Random number generator
+	 * @return Number of steps to skip, 0 or more
+	 */
+	private long gap(Rng rand) {
+		if (rate == 1)
+			return 0;
+		
+		//1 - u is in (0, 1] so the log is finite
+		double g = Math.log(1 - rand.nextDouble()) / logKeep;
+		return g >= Long.MAX_VALUE ? Long.MAX_VALUE / 2 : (long) g;
+	}
+	
+	/**
+	 * Mutate one step in place
+	 * @param genomes Directions of every Dot
+	 * @param dot Index of the Dot
+	 * @param step Index of the step
+	 * @param rand Random number generator of the calling chunk
+	 */
+	protected abstract void mutateStep(Genomes genomes, int dot, int step, Rng rand);
+}
@@ -0,0 +1,316 @@
+/**
+ * SweepRunner
+ * Author: agent
+ * Created on: 18/10/2026
+ * Runs every combination of a grid of parameters headlessly on a fixed number of threads, writing one
+ * summary row per run to a CSV file as each run finishes
+ * Run with: java -cp gadots.jar main.SweepRunner -size 500,1000 -mutation 0.005,0.01 -seeds 1..8 -out sweep.csv
+ */
+
+package main;
+
+import java.awt.Color;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class SweepRunner {
+	//Constants
+	private static final int SIDE = GADots.HEADLESS_SIDE;	//Side length of the space, as in a headless GADots run
+	private static final int OBSTACLE_RAD = 30;				//Radius of the obstacles
+	private static final long OBSTACLE_SEED = 42;			//Seed the obstacles are scattered from by default
+	private static final String CSV_HEADER = "run,size,steps,mutationRate,obstacles,obstacleSeed,seed,gens," +
+											 "maxFitness,minSteps,accuracy,alive,atGoal,firstGoalGen,wallTime,status";
+	private static final String NO_RESULTS = ",,,,,";		//Empty results of a run that failed
+	
+	//Attributes
+	private BufferedWriter out;			//File the rows are written to, shared by every run
+	private int numRuns;				//Number of runs in the sweep
+	private int finished;				//Number of runs written so far
+	
+	/**
+	 * One combination of parameters
+	 */
+	private static class Run {
+		int index;						//Position of the run in the sweep
+		int size;						//Number of Dots
+		int steps;						//Steps each Dot can take
+		double mutationRate;			//Chance of each step mutating
+		int obstacles;					//Number of obstacles
+		long obstacleSeed;				//Seed the obstacles are scattered from
+		long seed;						//Master seed of the Population
+	}
+	
+	/**
+	 * Parse the sweep, then run it
+	 * Every flag takes a comma-separated list and every combination of the lists is run once:
+	 * -size (default 1000), -steps (default 200), -mutation (default Population.MUTATION_RATE),
+	 * -obstacles, a number of obstacles scattered between the start and the goal (default 0), -obstacleSeeds,
+	 * the seeds they are scattered from (default 42), and -seeds (default 1), where a..b stands for every
+	 * number from a to b
+	 * -gens n sets the generations per run (default 100), -jobs n the number of runs at once (default one per
+	 * processor), -out file the CSV to write (default sweep.csv) and -spec file reads more flags from a file,
+	 * whitespace-separated with # starting a comment
+	 * -compact, -offheap and -cache n are passed on to every run the same way GADots takes them
+	 * @param args Sweep specification
+	 */
+	public static void main(String[] args) {
+		try {
+			ArrayList<String> flags = new ArrayList<String>(Arrays.asList(args));
+			String spec = stringArg(flags, "-spec", null);
+			if (spec != null)
+				flags.addAll(0, readSpec(Paths.get(spec)));
+			
+			Genomes.Layout layout = Genomes.Layout.DOUBLES;
+			if (flags.contains("-compact"))
+				layout = Genomes.Layout.ANGLES;
+			else if (flags.contains("-offheap"))
+				layout = Genomes.Layout.OFF_HEAP;
+			
+			ArrayList<Run> runs = grid(flags);
+			int jobs = Integer.parseInt(stringArg(flags, "-jobs", "" + Runtime.getRuntime().availableProcessors()));
+			int numGens = Integer.parseInt(stringArg(flags, "-gens", "100"));
+			int cacheSize = Integer.parseInt(stringArg(flags, "-cache", "0"));
+			Path file = Paths.get(stringArg(flags, "-out", "sweep.csv"));
+			
+			System.out.printf("%d runs of %d generations on %d threads to %s%n", runs.size(), numGens, jobs, file);
+			long t0 = System.nanoTime();
+			new SweepRunner(file, runs.size()).run(runs, Math.max(1, jobs), numGens, layout, cacheSize);
+			System.out.printf("sweep finished in %.3f s%n", (System.nanoTime() - t0) * 1e-9);
+		} catch (IOException | IllegalArgumentException e) {
+			System.err.println("sweep failed: " + e.getMessage());
+			System.exit(1);
+		}
+	}
+	
+	/**
+	 * Open the file the rows are written to
+	 * @param file CSV file to write, replaced if it exists
+	 * @param numRuns Number of runs in the sweep
+	 * @throws IOException If the file cannot be created
+	 */
+	private SweepRunner(Path file, int numRuns) throws IOException {
+		this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+		this.numRuns = numRuns;
+		out.write(CSV_HEADER);
+		out.newLine();
+		out.flush();
+	}
+	
+	/**
+	 * Get the value following a flag, the last one if it is given more than once so a command line can
+	 * override a spec file
+	 * @param flags Command line arguments
+	 * @param flag Flag before the value
+	 * @param def Value to use if the flag is not there
+	 * @return Value after the flag, def if there is none
+	 */
+	private static String stringArg(ArrayList<String> flags, String flag, String def) {
+		String value = def;
+		for (int i = 0; i < flags.size() - 1; i++) {
+			if (flags.get(i).equals(flag))
+				value = flags.get(i + 1);
+		}
+		return value;
+	}
+	
+	/**
+	 * Read flags from a spec file
+	 * @param file File of whitespace-separated flags, # starting a comment that runs to the end of the line
+	 * @return Flags in the file
+	 * @throws IOException If the file cannot be read
+	 */
+	private static ArrayList<String> readSpec(Path file) throws IOException {
+		ArrayList<String> flags = new ArrayList<String>();
+		for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+			int comment = line.indexOf('#');
+			String text = (comment < 0 ? line : line.substring(0, comment)).trim();
+			if (!text.isEmpty())
+				flags.addAll(Arrays.asList(text.split("\\s+")));
+		}
+		return flags;
+	}
+	
+	/**
+	 * Parse a comma-separated list of whole numbers, where a..b stands for every number from a to b
+	 * @param list List to parse
+	 * @return Numbers in the list, in order
+	 */
+	private static long[] longs(String list) {
+		ArrayList<Long> values = new ArrayList<Long>();
+		for (String item : list.split(",")) {
+			int range = item.indexOf("..");
+			long first = Long.parseLong(range < 0 ? item.trim() : item.substring(0, range).trim());
+			long last = range < 0 ? first : Long.parseLong(item.substring(range + 2).trim());
+			for (long v = first; v <= last; v++)
+				values.add(v);
+		}
+		long[] out = new long[values.size()];
+		for (int i = 0; i < out.length; i++)
+			out[i] = values.get(i);
+		return out;
+	}
+	
+	/**
+	 * Parse a comma-separated list of numbers
+	 * @param list List to parse
+	 * @return Numbers in the list, in order
+	 */
+	private static double[] doubles(String list) {
+		String[] items = list.split(",");
+		double[] out = new double[items.length];
+		for (int i = 0; i < items.length; i++)
+			out[i] = Double.parseDouble(items[i].trim());
+		return out;
+	}
+	
+	/**
+	 * Build every combination of the swept parameters, seeds varying fastest
+	 * @param flags Command line arguments
+	 * @return Runs in the order they are started
+	 */
+	private static ArrayList<Run> grid(ArrayList<String> flags) {
+		long[] sizes = longs(stringArg(flags, "-size", "1000"));
+		long[] steps = longs(stringArg(flags, "-steps", "200"));
+		double[] rates = doubles(stringArg(flags, "-mutation", "" + Population.MUTATION_RATE));
+		long[] obstacles = longs(stringArg(flags, "-obstacles", "0"));
+		long[] obstacleSeeds = longs(stringArg(flags, "-obstacleSeeds", "" + OBSTACLE_SEED));
+		long[] seeds = longs(stringArg(flags, "-seeds", "1"));
+		
+		ArrayList<Run> runs = new ArrayList<Run>();
+		for (long size : sizes) {
+			for (long step : steps) {
+				for (double rate : rates) {
+					for (long obst : obstacles) {
+						for (long obstSeed : obstacleSeeds) {
+							for (long seed : seeds) {
+								Run r = new Run();
+								r.index = runs.size();
+								r.size = (int) size;
+								r.steps = (int) step;
+								r.mutationRate = rate;
+								r.obstacles = (int) obst;
+								r.obstacleSeed = obstSeed;
+								r.seed = seed;
+								runs.add(r);
+							}
+						}
+					}
+				}
+			}
+		}
+		return runs;
+	}
+	
+	/**
+	 * Run every combination on a fixed pool of threads, each run on one thread so only jobs Populations
+	 * are ever held at once, then close the file
+	 * @param runs Runs to do
+	 * @param jobs Number of runs at once
+	 * @param numGens Generations per run
+	 * @param layout How to store the steps
+	 * @param cacheSize Genomes each run remembers, 0 for none
+	 * @throws IOException If the file cannot be closed
+	 */
+	private void run(ArrayList<Run> runs, int jobs, int numGens, Genomes.Layout layout, int cacheSize)
+			throws IOException {
+		ExecutorService pool = Executors.newFixedThreadPool(jobs);
+		for (Run r : runs) {
+			pool.execute(() -> runOne(r, numGens, layout, cacheSize));
+		}
+		pool.shutdown();
+		try {
+			pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			pool.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+		out.close();
+	}
+	
+	/**
+	 * Evolve one combination of parameters and write its row, with empty results and the error as its status
+	 * if the run fails
+	 * @param r Parameters of the run
+	 * @param numGens Generations to run
+	 * @param layout How to store the steps
+	 * @param cacheSize Genomes to remember, 0 for none
+	 */
+	private void runOne(Run r, int numGens, Genomes.Layout layout, int cacheSize) {
+		long t0 = System.nanoTime();
+		String results = NO_RESULTS;
+		String status = "ok";
+		try {
+			results = evolve(r, numGens, layout, cacheSize);
+		} catch (RuntimeException | OutOfMemoryError e) {
+			System.err.println("run " + r.index + " failed: " + e);
+			status = e.getClass().getSimpleName();
+		}
+		
+		write(r, String.format(Locale.ROOT, "%d,%d,%d,%s,%d,%d,%d,%d,%s,%.6f,%s",
+								r.index, r.size, r.steps, r.mutationRate, r.obstacles, r.obstacleSeed, r.seed, 
+								numGens, results, (System.nanoTime() - t0) * 1e-9, status));
+	}
+	
+	/**
+	 * Evolve one combination of parameters in the same space as a headless GADots run
+	 * @param r Parameters of the run
+	 * @param numGens Generations to run
+	 * @param layout How to store the steps
+	 * @param cacheSize Genomes to remember, 0 for none
+	 * @return Results of the run as CSV fields
+	 */
+	private static String evolve(Run r, int numGens, Genomes.Layout layout, int cacheSize) {
+		Dot goal = GADots.goal(SIDE);
+		Population p = new Population(r.size, GADots.start(SIDE), r.steps, SIDE, SIDE, goal, r.seed, layout);
+		try {
+			p.setMutator(new ResetMutator(r.mutationRate));
+			p.setFitnessCache(cacheSize);
+			
+			//same obstacles for every run with the same number of them and obstacle seed, whatever the seed
+			Rng rand = new Rng(Rng.streamSeed(r.obstacleSeed, r.obstacles));
+			for (int i = 0; i < r.obstacles; i++) {
+				Dot obst = new Dot(rand.nextInt(SIDE), 200 + rand.nextInt((int) goal.y() - 250), Color.GRAY);
+				obst.setRad(OBSTACLE_RAD);
+				p.addObstacle(obst);
+			}
+			
+			int firstGoalGen = -1;
+			for (int i = 0; i < numGens; i++) {
+				p.runGeneration();
+				if (firstGoalGen < 0 && p.atGoalCount() > 0)
+					firstGoalGen = p.gen() - 1;
+			}
+			return String.format(Locale.ROOT, "%s,%d,%s,%d,%d,%d", p.maxFitness(), p.minSteps(), 
+									p.accuracy(p.minPossibleSteps()), p.aliveCount(), p.atGoalCount(), firstGoalGen);
+		} finally {
+			p.shutdown();
+		}
+	}
+	
+	/**
+	 * Write a finished or failed run's row and flush it, so a sweep stopped partway keeps every run it finished
+	 * @param r Parameters of the run
+	 * @param row Row to write
+	 */
+	private synchronized void write(Run r, String row) {
+		try {
+			out.write(row);
+			out.newLine();
+			out.flush();
+		} catch (IOException e) {
+			System.err.println("cannot write run " + r.index + ": " + e.getMessage());
+		}
+		finished++;
+		System.out.printf("%d/%d runs, run %d done%n", finished, numRuns, r.index);
+	}
+}
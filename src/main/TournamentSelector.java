@@ -0,0 +1,53 @@
+/**
+ * TournamentSelector
+ * Author: agent
+ * Created on: 18/10/2026
+ * Selection of the fittest out of a few random Dots
+ */
+
+package main;
+
+public class TournamentSelector implements Selector {
+	//Attributes
+	private int tournamentSize;		//Number of Dots competing in each tournament
+	private double[] fitnesses;		//Fitnesses of each Dot
+	
+	/**
+	 * Create a TournamentSelector
+	 * @param tournamentSize Number of Dots competing in each tournament
+	 */
+	public TournamentSelector(int tournamentSize) {
+		this.tournamentSize = Math.max(1, tournamentSize);
+	}
+	
+	/**
+	 * Create a binary TournamentSelector
+	 */
+	public TournamentSelector() {
+		this(2);
+	}
+	
+	/**
+	 * Keep the fitnesses to compare, nothing needs to be built
+	 * @param fitnesses Fitnesses of each Dot
+	 * @param fitnessSum Sum of the fitnesses
+	 */
+	public void prepare(double[] fitnesses, double fitnessSum) {
+		this.fitnesses = fitnesses;
+	}
+	
+	/**
+	 * Select the fittest of tournamentSize random Dots in O(tournamentSize)
+	 * @param rand Random number generator of the calling chunk
+	 * @return Index of the parent
+	 */
+	public int select(Rng rand) {
+		int best = rand.nextInt(fitnesses.length);
+		for (int k = 1; k < tournamentSize; k++) {
+			int i = rand.nextInt(fitnesses.length);
+			if (fitnesses[i] > fitnesses[best])
+				best = i;
+		}
+		return best;
+	}
+}
@@ -0,0 +1,70 @@
+/**
+ * TripleBuffer
+ * Author: agent
+ * Created on: 18/10/2026
+ * Lock-free handoff of the latest value from one writer thread to one reader thread
+ * The writer fills its back buffer and publishes it by swapping it with the middle one; the reader swaps
+ * the middle one for its front buffer whenever something new was published. Neither side ever waits
+ * and each buffer belongs to only one side at a time, so they can be refilled without copying.
+ */
+
+package main;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TripleBuffer<T> {
+	//Constants
+	private static final int INDEX = 3;			//Bits of the state holding the index of the middle buffer
+	private static final int FRESH = 4;			//Bit of the state set when the middle buffer is unread
+	
+	//Attributes
+	private Object[] buffers;		//The three buffers
+	private AtomicInteger middle;	//Index of the middle buffer and whether it is unread
+	private int back;				//Index of the buffer the writer is filling
+	private int front;				//Index of the buffer the reader is reading
+	private boolean hasFront;		//Whether the reader has received anything yet
+	
+	/**
+	 * Create a handoff between three buffers
+	 * @param a First buffer, starts as the writer's
+	 * @param b Second buffer
+	 * @param c Third buffer
+	 */
+	public TripleBuffer(T a, T b, T c) {
+		buffers = new Object[] {a, b, c};
+		back = 0;
+		middle = new AtomicInteger(1);
+		front = 2;
+		hasFront = false;
+	}
+	
+	/**
+	 * Get the buffer to fill, only call from the writer thread
+	 * @return Buffer owned by the writer until the next publish()
+	 */
+	@SuppressWarnings("unchecked")
+	public T back() {
+		return (T) buffers[back];
+	}
+	
+	/**
+	 * Hand the filled buffer to the reader, only call from the writer thread
+	 * If the reader has not taken the last one yet, that one is reused as the next back buffer
+	 */
+	public void publish() {
+		back = middle.getAndSet(back | FRESH) & INDEX;
+	}
+	
+	/**
+	 * Get the most recently published buffer, only call from the reader thread
+	 * @return Buffer owned by the reader until the next call, null if nothing has been published yet
+	 */
+	@SuppressWarnings("unchecked")
+	public T latest() {
+		if ((middle.get() & FRESH) != 0) {
+			front = middle.getAndSet(front) & INDEX;
+			hasFront = true;
+		}
+		return hasFront ? (T) buffers[front] : null;
+	}
+}
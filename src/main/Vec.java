@@ -12,6 +12,8 @@ public class Vec {
 	private double y;		//Y coordinate of vector
 	private double mag;		//Magnitude of vector
 	private double dir;		//Direction of vector
+	private boolean magValid;	//Whether mag is up to date with x, y
+	private boolean dirValid;	//Whether dir is up to date with x, y
 	
 	/**
 	 * Create a rectangular vector
@@ -21,8 +23,6 @@ public class Vec {
 	public Vec(double x, double y) {
 		this.x = x;
 		this.y = y;
-		calcMag();
-		calcDir();
 	}
 	
 	/**
@@ -31,8 +31,6 @@ public class Vec {
 	public Vec() {
 		this.x = 0;
 		this.y = 0;
-		calcMag();
-		calcDir();
 	}
 	
 	//Getters
@@ -54,18 +52,30 @@ public class Vec {
 	}
 	
 	/**
-	 * Get the vector's magnitude
+	 * Get the vector's magnitude, calculating it only if x or y have changed
 	 * @return Magnitude
 	 */
 	public double mag() {
+		if (!magValid)
+			calcMag();
 		return mag;
 	}
 	
 	/**
-	 * Get the vector's direction
+	 * Get the vector's squared magnitude without a square root
+	 * @return Squared magnitude
+	 */
+	public double magSq() {
+		return x * x + y * y;
+	}
+	
+	/**
+	 * Get the vector's direction, calculating it only if x or y have changed
 	 * @return Vector's direction in radians [-PI/2, PI/2]
 	 */
 	public double dir() {
+		if (!dirValid)
+			calcDir();
 		return dir;
 	}
 	
@@ -74,41 +84,46 @@ public class Vec {
 	 * @return Vector's direction in degrees [-180, 180]
 	 */
 	public double dirDeg() { 
-		return Math.toDegrees(dir);
+		return Math.toDegrees(dir());
 	}
 	
 	//Setters
 	
 	/**
-	 * Set the vector's x value and update its magnitude, direction
+	 * Set the vector's x value
 	 * @param x New x value
 	 */
 	public void setX(double x) {
 		this.x = x;
-		calcMag();
-		calcDir();
+		invalidate();
 	}
 	
 	/**
-	 * Set the vector's y value and update its magnitude, direction
+	 * Set the vector's y value
 	 * @param y New y value
 	 */
 	public void setY(double y) {
 		this.y = y;
-		calcMag();
-		calcDir();
+		invalidate();
 	}
 	
 	/**
-	 * Set the vector's x, y values and update its magnitude, direction
+	 * Set the vector's x, y values
 	 * @param x New x value
 	 * @param y New y value
 	 */
 	public void setXY(double x, double y) {
 		this.x = x;
 		this.y = y;
-		calcMag();
-		calcDir();
+		invalidate();
+	}
+	
+	/**
+	 * Mark the magnitude and direction as out of date
+	 */
+	private void invalidate() {
+		magValid = false;
+		dirValid = false;
 	}
 	
 	/**
@@ -116,6 +131,7 @@ public class Vec {
 	 */
 	private void calcMag() {
 		this.mag = Math.hypot(x, y);
+		magValid = true;
 	}
 	
 	/**
@@ -123,6 +139,7 @@ public class Vec {
 	 */
 	private void calcDir() {
 		this.dir = Math.atan2(y, x);
+		dirValid = true;
 	}
 	
 	/**
@@ -131,6 +148,7 @@ public class Vec {
 	 */
 	public void addX(double dx) {
 		this.x += dx;
+		invalidate();
 	}
 	
 	/**
@@ -139,6 +157,7 @@ public class Vec {
 	 */
 	public void addY(double dy) {
 		this.y += dy;
+		invalidate();
 	}
 	
 	/**
@@ -149,6 +168,7 @@ public class Vec {
 	public void scale(double sx, double sy) {
 		this.x *= sx;
 		this.y *= sy;
+		invalidate();
 	}
 	
 	//Operations
@@ -230,8 +250,63 @@ public class Vec {
 		return Vec.scale(Vec.fromAngle(angRad), mag);
 	}
 	
+	/**
+	 * Return the distance between two vectors without creating a new one
+	 * @param v1 First vector
+	 * @param v2 Second vector
+	 * @return |v2 - v1|
+	 */
 	public static double dist(Vec v1, Vec v2) {
-		return Vec.diff(v1, v2).mag();
+		return dist(v1.x(), v1.y(), v2.x(), v2.y());
+	}
+	
+	/**
+	 * Return the squared distance between two vectors without creating a new one
+	 * @param v1 First vector
+	 * @param v2 Second vector
+	 * @return |v2 - v1|^2
+	 */
+	public static double distSq(Vec v1, Vec v2) {
+		return distSq(v1.x(), v1.y(), v2.x(), v2.y());
+	}
+	
+	/**
+	 * Return the distance between two points
+	 * @param x1 X value of the first point
+	 * @param y1 Y value of the first point
+	 * @param x2 X value of the second point
+	 * @param y2 Y value of the second point
+	 * @return Distance between the points
+	 */
+	public static double dist(double x1, double y1, double x2, double y2) {
+		return Math.sqrt(distSq(x1, y1, x2, y2));
+	}
+	
+	/**
+	 * Return the squared distance between two points, cheaper than dist for comparisons
+	 * @param x1 X value of the first point
+	 * @param y1 Y value of the first point
+	 * @param x2 X value of the second point
+	 * @param y2 Y value of the second point
+	 * @return Squared distance between the points
+	 */
+	public static double distSq(double x1, double y1, double x2, double y2) {
+		double dx = x2 - x1;
+		double dy = y2 - y1;
+		return dx * dx + dy * dy;
+	}
+	
+	/**
+	 * Check whether two points are closer than a distance without a square root
+	 * @param x1 X value of the first point
+	 * @param y1 Y value of the first point
+	 * @param x2 X value of the second point
+	 * @param y2 Y value of the second point
+	 * @param d Distance to compare against
+	 * @return Whether the points are less than d apart
+	 */
+	public static boolean within(double x1, double y1, double x2, double y2, double d) {
+		return distSq(x1, y1, x2, y2) < d * d;
 	}
 	
 	/**
@@ -0,0 +1,179 @@
+/**
+ * IslandLinkTest
+ * Author: agent
+ * Created on: 18/10/2026
+ * Checks that messages sent over an IslandLink arrive whole, in order and with their types
+ */
+
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class IslandLinkTest {
+	//Constants
+	private static final int BIG = 200_000;		//Payload bytes of a message bigger than the link's buffers
+	private static final int STEPS = 50;		//Steps of each migrant
+	
+	//Attributes
+	@TempDir
+	Path dir;							//Folder the socket is made in
+	private ServerSocketChannel server;	//Coordinator end listening
+	private IslandLink coordinator;		//Coordinator end of the link
+	private IslandLink worker;			//Worker end of the link
+	private ExecutorService sender;		//Sends from the worker end so big messages cannot block the test
+	
+	/**
+	 * Connect a worker to a coordinator over a Unix domain socket
+	 * @throws Exception If the link cannot be made
+	 */
+	@BeforeEach
+	public void connect() throws Exception {
+		String address = "unix:" + dir.resolve("link.sock");
+		server = IslandLink.listen(address);
+		sender = Executors.newSingleThreadExecutor();
+		Future<IslandLink> connecting = sender.submit(() -> IslandLink.connect(address));
+		coordinator = IslandLink.accept(server);
+		worker = connecting.get();
+	}
+	
+	/**
+	 * Close both ends
+	 * @throws IOException If closing fails
+	 */
+	@AfterEach
+	public void close() throws IOException {
+		sender.shutdownNow();
+		worker.close();
+		coordinator.close();
+		server.close();
+	}
+	
+	/**
+	 * Send a message of a given size whose bytes count up from a start value
+	 * @param link Link to send on
+	 * @param type Type of the message
+	 * @param bytes Payload bytes
+	 * @param first Value of the first byte
+	 * @throws IOException If the connection fails
+	 */
+	private static void send(IslandLink link, byte type, int bytes, int first) throws IOException {
+		ByteBuffer buf = link.begin(type, bytes);
+		for (int b = 0; b < bytes; b++)
+			buf.put((byte) (first + b));
+		link.send();
+	}
+	
+	/**
+	 * Check that a payload is the one send() wrote
+	 * @param payload Payload received
+	 * @param bytes Payload bytes expected
+	 * @param first Value of the first byte expected
+	 */
+	private static void check(ByteBuffer payload, int bytes, int first) {
+		assertEquals(bytes, payload.remaining());
+		for (int b = 0; b < bytes; b++)
+			assertEquals((byte) (first + b), payload.get(), "byte " + b);
+	}
+	
+	/**
+	 * Messages sent back to back, empty and bigger than the buffers included, come out one at a time
+	 * @throws Exception If the link fails
+	 */
+	@Test
+	public void messagesKeepTheirBoundaries() throws Exception {
+		Future<?> sent = sender.submit(() -> {
+			send(worker, IslandLink.STATS, 12, 1);
+			send(worker, IslandLink.CONFIG, 0, 0);
+			send(worker, IslandLink.MIGRANTS, BIG, 7);
+			send(worker, IslandLink.STATS, 3, 100);
+			return null;
+		});
+		
+		assertEquals(IslandLink.STATS, coordinator.receive());
+		check(coordinator.payload(), 12, 1);
+		check(coordinator.expect(IslandLink.CONFIG), 0, 0);
+		check(coordinator.expect(IslandLink.MIGRANTS), BIG, 7);
+		check(coordinator.expect(IslandLink.STATS), 3, 100);
+		sent.get();
+	}
+	
+	/**
+	 * Migrants come out with exactly the steps they were sent with
+	 * @throws Exception If the link fails
+	 */
+	@Test
+	public void migrantsRoundTrip() throws Exception {
+		Genomes out = Genomes.create(4, STEPS, Genomes.Layout.DOUBLES);
+		Rng rand = new Rng(5);
+		for (int m = 0; m < out.size(); m++)
+			out.randomize(m, rand);
+		sender.submit(() -> {
+			worker.sendMigrants(out, 3);
+			return null;
+		}).get();
+		
+		Genomes in = Genomes.create(4, STEPS, Genomes.Layout.DOUBLES);
+		assertEquals(3, IslandLink.readMigrants(coordinator.expect(IslandLink.MIGRANTS), in));
+		for (int m = 0; m < 3; m++) {
+			for (int j = 0; j < STEPS; j++) {
+				assertEquals(out.dx(m, j), in.dx(m, j), "migrant " + m + " step " + j);
+				assertEquals(out.dy(m, j), in.dy(m, j), "migrant " + m + " step " + j);
+			}
+		}
+	}
+	
+	/**
+	 * Migrants of the wrong length are turned down
+	 * @throws Exception If the link fails
+	 */
+	@Test
+	public void migrantsOfOtherLengthsAreRejected() throws Exception {
+		Genomes out = Genomes.create(2, STEPS, Genomes.Layout.DOUBLES);
+		sender.submit(() -> {
+			worker.sendMigrants(out, 2);
+			return null;
+		}).get();
+		
+		Genomes in = Genomes.create(2, STEPS + 1, Genomes.Layout.DOUBLES);
+		ByteBuffer payload = coordinator.expect(IslandLink.MIGRANTS);
+		assertThrows(IOException.class, () -> IslandLink.readMigrants(payload, in));
+	}
+	
+	/**
+	 * A message of another type than expected is an error
+	 * @throws Exception If the link fails
+	 */
+	@Test
+	public void unexpectedTypeIsAnError() throws Exception {
+		sender.submit(() -> {
+			send(worker, IslandLink.STATS, 4, 0);
+			return null;
+		}).get();
+		assertThrows(IOException.class, () -> coordinator.expect(IslandLink.MIGRANTS));
+	}
+	
+	/**
+	 * Closing one end ends the other's wait for a message
+	 * @throws IOException If closing fails
+	 */
+	@Test
+	public void closedLinkEndsReceive() throws IOException {
+		worker.close();
+		assertThrows(EOFException.class, () -> coordinator.receive());
+	}
+}
@@ -0,0 +1,76 @@
+/**
+ * MetricsWriterTest
+ * Author: agent
+ * Created on: 18/10/2026
+ * Checks that generations recorded by MetricsWriter reach the file without waiting for more to be recorded
+ */
+
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MetricsWriterTest {
+	//Constants
+	private static final int SIDE = 480;			//Side length of the space
+	private static final long WAIT = 10_000;		//Longest to wait for a stalled batch to be written in ms
+	
+	//Attributes
+	@TempDir
+	Path dir;		//Folder the metrics are written to
+	
+	/**
+	 * Run a small Population for a generation
+	 * @return Population that just finished a generation
+	 */
+	private static Population create() {
+		Dot goal = new Dot(SIDE / 2, (int) (SIDE * 0.8), Color.BLUE);
+		goal.setRad(10);
+		Population p = new Population(50, new Vec(SIDE / 2, 50), 100, SIDE, SIDE, goal, 3, Genomes.Layout.DOUBLES);
+		p.runGeneration();
+		return p;
+	}
+	
+	/**
+	 * Generations recorded before the run stalls are written once they get old, before the writer is closed
+	 * @throws Exception If the file cannot be written or read
+	 */
+	@Test
+	public void stalledRunIsWritten() throws Exception {
+		Path file = dir.resolve("stalled.csv");
+		Population p = create();
+		MetricsWriter metrics = new MetricsWriter(file);
+		metrics.record(p, p.minPossibleSteps());
+		
+		long deadline = System.currentTimeMillis() + WAIT;
+		while (Files.readAllLines(file).size() < 2 && System.currentTimeMillis() < deadline)
+			Thread.sleep(50);
+		assertEquals(2, Files.readAllLines(file).size());
+		metrics.close();
+		p.shutdown();
+	}
+	
+	/**
+	 * Recording after closing writes nothing more and closing again does nothing
+	 * @throws IOException If the file cannot be written or read
+	 */
+	@Test
+	public void recordAfterCloseIsIgnored() throws IOException {
+		Path file = dir.resolve("closed.csv");
+		Population p = create();
+		MetricsWriter metrics = new MetricsWriter(file);
+		metrics.record(p, p.minPossibleSteps());
+		metrics.close();
+		metrics.record(p, p.minPossibleSteps());
+		metrics.close();
+		assertEquals(2, Files.readAllLines(file).size());
+		p.shutdown();
+	}
+}
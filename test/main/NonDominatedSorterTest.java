@@ -0,0 +1,132 @@
+/**
+ * NonDominatedSorterTest
+ * Author: agent
+ * Created on: 18/10/2026
+ * Checks the fronts found by NonDominatedSorter against a naive O(N^2) sort that peels off one front at a time
+ */
+
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class NonDominatedSorterTest {
+	//Constants
+	private static final int TRIALS = 500;		//Random sets of objectives sorted per number of objectives
+	private static final int MAX_DOTS = 200;	//Most Dots in a set
+	
+	/**
+	 * Sort random objectives, from a few distinct values with many ties to nearly all distinct, and compare
+	 * the ranks with the naive sort
+	 * @param numObjectives Number of objectives
+	 * @param seed Seed of the objectives
+	 */
+	private void checkAgainstNaive(int numObjectives, long seed) {
+		Random rand = new Random(seed);
+		NonDominatedSorter sorter = new NonDominatedSorter();
+		for (int t = 0; t < TRIALS; t++) {
+			int n = 1 + rand.nextInt(MAX_DOTS);
+			int levels = t % 2 == 0 ? 4 : 1000;
+			double[][] objectives = new double[numObjectives][n];
+			for (int m = 0; m < numObjectives; m++) {
+				for (int i = 0; i < n; i++)
+					objectives[m][i] = rand.nextInt(levels);
+			}
+			
+			sorter.sort(objectives);
+			int[] expected = naiveRanks(objectives);
+			int numFronts = 0;
+			for (int rank : expected)
+				numFronts = Math.max(numFronts, rank + 1);
+			assertArrayEquals(expected, sorter.ranks(), "trial " + t);
+			assertEquals(numFronts, sorter.numFronts(), "trial " + t);
+		}
+	}
+	
+	/**
+	 * Rank Dots by repeatedly taking every Dot that no Dot left dominates
+	 * @param objectives Objective values to minimize, objectives[m][i] is objective m of Dot i
+	 * @return Front of each Dot, 0 for the best
+	 */
+	private static int[] naiveRanks(double[][] objectives) {
+		int n = objectives[0].length;
+		int[] ranks = new int[n];
+		boolean[] ranked = new boolean[n];
+		boolean[] inFront = new boolean[n];
+		int left = n;
+		for (int front = 0; left > 0; front++) {
+			for (int i = 0; i < n; i++) {
+				inFront[i] = !ranked[i];
+				for (int j = 0; j < n && inFront[i]; j++) {
+					if (!ranked[j] && dominates(objectives, j, i))
+						inFront[i] = false;
+				}
+			}
+			for (int i = 0; i < n; i++) {
+				if (inFront[i]) {
+					ranked[i] = true;
+					ranks[i] = front;
+					left--;
+				}
+			}
+		}
+		return ranks;
+	}
+	
+	/**
+	 * Check if one Dot dominates another, written out separately from NonDominatedSorter.dominates()
+	 * @param objectives Objective values to minimize
+	 * @param a Index of the first Dot
+	 * @param b Index of the second Dot
+	 * @return Whether a is no worse than b in every objective and better in at least one
+	 */
+	private static boolean dominates(double[][] objectives, int a, int b) {
+		int better = 0;
+		for (double[] objective : objectives) {
+			if (objective[a] > objective[b])
+				return false;
+			if (objective[a] < objective[b])
+				better++;
+		}
+		return better > 0;
+	}
+	
+	/**
+	 * Two objectives, sorted by binary search over the fronts' last Dots
+	 */
+	@Test
+	public void twoObjectivesMatchNaive() {
+		checkAgainstNaive(2, 1);
+	}
+	
+	/**
+	 * Three objectives, looked up on each front's staircase
+	 */
+	@Test
+	public void threeObjectivesMatchNaive() {
+		checkAgainstNaive(3, 2);
+	}
+	
+	/**
+	 * Four objectives, checked against every Dot of a front
+	 */
+	@Test
+	public void fourObjectivesMatchNaive() {
+		checkAgainstNaive(4, 3);
+	}
+	
+	/**
+	 * Identical Dots share a front
+	 */
+	@Test
+	public void equalDotsShareAFront() {
+		double[][] objectives = {{1, 1, 2}, {3, 3, 1}, {0, 0, 5}};
+		NonDominatedSorter sorter = new NonDominatedSorter();
+		sorter.sort(objectives);
+		assertArrayEquals(new int[] {0, 0, 0}, sorter.ranks());
+	}
+}
@@ -0,0 +1,153 @@
+/**
+ * PopulationTest
+ * Author: agent
+ * Created on: 18/10/2026
+ * Checks that a Population picked up from a checkpoint evolves exactly as the one that saved it
+ */
+
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PopulationTest {
+	//Constants
+	private static final int SIDE = 480;		//Side length of the space
+	private static final int SIZE = 200;		//Number of Dots
+	private static final int STEPS = 150;		//Steps each Dot can take
+	private static final int GENS_BEFORE = 15;	//Generations run before the checkpoint
+	private static final int GENS_AFTER = 15;	//Generations compared after the checkpoint
+	private static final double MUTATION_RATE = 0.001;	//Mutation rate low enough for many children to be copies
+	
+	//Attributes
+	@TempDir
+	Path dir;		//Folder the checkpoints are written to
+	
+	/**
+	 * Create a Population with a few obstacles in the way
+	 * @param layout How to store the steps
+	 * @return Population at its first generation
+	 */
+	private static Population create(Genomes.Layout layout) {
+		Dot goal = new Dot(SIDE / 2, (int) (SIDE * 0.8), Color.BLUE);
+		goal.setRad(10);
+		Population p = new Population(SIZE, new Vec(SIDE / 2, 50), STEPS, SIDE, SIDE, goal, 7, layout);
+		Rng rand = new Rng(11);
+		for (int i = 0; i < 5; i++) {
+			Dot obst = new Dot(rand.nextInt(SIDE), 150 + rand.nextInt(200), Color.GRAY);
+			obst.setRad(20);
+			p.addObstacle(obst);
+		}
+		return p;
+	}
+	
+	/**
+	 * Save a run partway through, carry on with it, then resume the save and check both go the same way
+	 * @param layout How to store the steps
+	 * @param multiObjective Whether parents are chosen by Pareto rank
+	 * @throws IOException If the checkpoint cannot be written or read
+	 */
+	private void checkResume(Genomes.Layout layout, boolean multiObjective) throws IOException {
+		Population p = create(layout);
+		p.setMultiObjective(multiObjective);
+		p.run(GENS_BEFORE);
+		Path file = dir.resolve(layout + (multiObjective ? "-multi" : "") + ".bin");
+		p.checkpoint(file);
+		int savedGen = p.gen();
+		
+		double[] maxFitness = new double[GENS_AFTER];
+		int[] minSteps = new int[GENS_AFTER];
+		for (int g = 0; g < GENS_AFTER; g++) {
+			p.runGeneration();
+			maxFitness[g] = p.maxFitness();
+			minSteps[g] = p.minSteps();
+		}
+		p.shutdown();
+		
+		Population q = Population.resume(file);
+		assertEquals(savedGen, q.gen());
+		for (int g = 0; g < GENS_AFTER; g++) {
+			q.runGeneration();
+			assertEquals(maxFitness[g], q.maxFitness(), "generation " + q.gen());
+			assertEquals(minSteps[g], q.minSteps(), "generation " + q.gen());
+		}
+		q.shutdown();
+	}
+	
+	/**
+	 * Resume with the steps stored as (dx,dy) pairs
+	 * @throws IOException If the checkpoint cannot be written or read
+	 */
+	@Test
+	public void resumeDoubles() throws IOException {
+		checkResume(Genomes.Layout.DOUBLES, false);
+	}
+	
+	/**
+	 * Resume with the steps stored as angle levels
+	 * @throws IOException If the checkpoint cannot be written or read
+	 */
+	@Test
+	public void resumeAngles() throws IOException {
+		checkResume(Genomes.Layout.ANGLES, false);
+	}
+	
+	/**
+	 * Resume with the steps stored off the heap
+	 * @throws IOException If the checkpoint cannot be written or read
+	 */
+	@Test
+	public void resumeOffHeap() throws IOException {
+		checkResume(Genomes.Layout.OFF_HEAP, false);
+	}
+	
+	/**
+	 * Resume with parents chosen by Pareto rank, which needs the sorter set up again
+	 * @throws IOException If the checkpoint cannot be written or read
+	 */
+	@Test
+	public void resumeMultiObjective() throws IOException {
+		checkResume(Genomes.Layout.DOUBLES, true);
+	}
+	
+	/**
+	 * A run that remembers genomes, and so copies the results of Dots with the same directions, evolves
+	 * exactly as one that runs every Dot
+	 */
+	@Test
+	public void cacheKeepsResults() {
+		Population plain = create(Genomes.Layout.DOUBLES);
+		Population cached = create(Genomes.Layout.DOUBLES);
+		plain.setMutator(new ResetMutator(MUTATION_RATE));
+		cached.setMutator(new ResetMutator(MUTATION_RATE));
+		cached.setFitnessCache(SIZE);
+		for (int g = 0; g < GENS_AFTER; g++) {
+			plain.runGeneration();
+			cached.runGeneration();
+			assertEquals(plain.maxFitness(), cached.maxFitness(), "generation " + plain.gen());
+			assertEquals(plain.minSteps(), cached.minSteps(), "generation " + plain.gen());
+		}
+		assertTrue(cached.fitnessCache().hits() > 0);
+		plain.shutdown();
+		cached.shutdown();
+	}
+	
+	/**
+	 * A file that is not a checkpoint is turned down
+	 * @throws IOException If the file cannot be written
+	 */
+	@Test
+	public void resumeRejectsOtherFiles() throws IOException {
+		Path file = Files.write(dir.resolve("other.bin"), new byte[64]);
+		assertThrows(IOException.class, () -> Population.resume(file));
+	}
+}
@@ -0,0 +1,135 @@
+/**
+ * RunRecordingTest
+ * Author: agent
+ * Created on: 18/10/2026
+ * Checks that every champion written by RunRecorder is read back by RunRecording exactly as it was run
+ */
+
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RunRecordingTest {
+	//Constants
+	private static final int SIDE = 480;		//Side length of the space
+	private static final int SIZE = 100;		//Number of Dots
+	private static final int STEPS = 120;		//Steps each Dot can take
+	private static final int GENS = RunRecorder.KEYFRAME_INTERVAL + 40;	//Generations recorded, past a second keyframe
+	
+	//Attributes
+	@TempDir
+	Path dir;		//Folder the recordings are written to
+	
+	/**
+	 * Record a run, keeping each champion as the Population carries it into the next generation
+	 * @param layout How to store the steps
+	 * @param file File to record to
+	 * @param champions Champion of each generation, filled in
+	 * @param fitnesses Fitness of each champion, filled in
+	 * @return Generation of the first champion
+	 * @throws IOException If the recording cannot be written
+	 */
+	private static int record(Genomes.Layout layout, Path file, ArrayList<Dot> champions, double[] fitnesses)
+			throws IOException {
+		Dot goal = new Dot(SIDE / 2, (int) (SIDE * 0.8), Color.BLUE);
+		goal.setRad(10);
+		Population p = new Population(SIZE, new Vec(SIDE / 2, 50), STEPS, SIDE, SIDE, goal, 3, layout);
+		Dot obst = new Dot(SIDE / 2, SIDE / 2, Color.GRAY);
+		obst.setRad(30);
+		p.addObstacle(obst);
+		int firstGen = p.gen();
+		
+		try (RunRecorder recorder = new RunRecorder(file, p)) {
+			p.setRecorder(recorder);
+			for (int g = 0; g < GENS; g++) {
+				p.runGeneration();
+				//the champion is carried over unchanged as the first Dot
+				champions.add(p.dot(0));
+				fitnesses[g] = p.maxFitness();
+			}
+		}
+		p.shutdown();
+		return firstGen;
+	}
+	
+	/**
+	 * Record a run, read it back and compare every champion and its replay with the run
+	 * @param layout How to store the steps
+	 * @throws IOException If the recording cannot be written or read
+	 */
+	private void checkRoundTrip(Genomes.Layout layout) throws IOException {
+		Path file = dir.resolve(layout + ".rec");
+		ArrayList<Dot> champions = new ArrayList<Dot>();
+		double[] fitnesses = new double[GENS];
+		int firstGen = record(layout, file, champions, fitnesses);
+		
+		RunRecording rec = new RunRecording(file);
+		assertEquals(firstGen, rec.firstGen());
+		assertEquals(firstGen + GENS - 1, rec.lastGen());
+		for (int g = firstGen; g < firstGen + GENS; g++) {
+			assertEquals(fitnesses[g - firstGen], rec.fitness(g), "generation " + g);
+			
+			//only the steps the champion took are recorded
+			Vec[] expected = champions.get(g - firstGen).directions();
+			Genomes got = rec.champion(g);
+			for (int j = 0; j < rec.stepsTaken(g); j++) {
+				assertEquals(expected[j].x(), got.dx(0, j), "generation " + g + " step " + j);
+				assertEquals(expected[j].y(), got.dy(0, j), "generation " + g + " step " + j);
+			}
+			
+			//replaying the champion takes it as far as it went in the run
+			Population replay = rec.replay(g);
+			do {
+				replay.step();
+			} while (!replay.isGenFinished());
+			assertEquals(rec.stepsTaken(g), replay.dot(0).stepsTaken(), "generation " + g);
+			replay.shutdown();
+		}
+	}
+	
+	/**
+	 * Round trip with the steps stored as (dx,dy) pairs
+	 * @throws IOException If the recording cannot be written or read
+	 */
+	@Test
+	public void roundTripDoubles() throws IOException {
+		checkRoundTrip(Genomes.Layout.DOUBLES);
+	}
+	
+	/**
+	 * Round trip with the steps stored as angle levels
+	 * @throws IOException If the recording cannot be written or read
+	 */
+	@Test
+	public void roundTripAngles() throws IOException {
+		checkRoundTrip(Genomes.Layout.ANGLES);
+	}
+	
+	/**
+	 * A recording cut off partway through a generation keeps every generation before it
+	 * @throws IOException If the recording cannot be written or read
+	 */
+	@Test
+	public void cutShortKeepsWholeGenerations() throws IOException {
+		Path file = dir.resolve("cut.rec");
+		int firstGen = record(Genomes.Layout.DOUBLES, file, new ArrayList<Dot>(), new double[GENS]);
+		try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			ch.truncate(ch.size() - 3);
+		}
+		
+		RunRecording rec = new RunRecording(file);
+		assertEquals(firstGen + GENS - 2, rec.lastGen());
+		assertTrue(rec.stepsTaken(rec.lastGen()) > 0);
+	}
+}